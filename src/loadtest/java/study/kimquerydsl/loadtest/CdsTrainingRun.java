@@ -0,0 +1,52 @@
+package study.kimquerydsl.loadtest;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationListener;
+import study.kimquerydsl.KimQuerydslApplication;
+
+/**
+ * CDS 학습 실행 (./gradlew cdsArchive)
+ * 기동이 끝나면 /v3/members 를 한 번 호출해서 요청 처리 경로의 클래스까지 로딩하고 종료한다.
+ * (-XX:ArchiveClassesAtExit 는 JVM 종료 시점에 아카이브를 만든다)
+ * 종료 리스너는 빈이 아니라 이 main 에서만 등록하므로 애플리케이션 기동에는 포함되지 않는다.
+ */
+public class CdsTrainingRun {
+
+    public static void main(String[] args) {
+        SpringApplication application = new SpringApplication(KimQuerydslApplication.class);
+        // AOT 생성 초기화 클래스(KimQuerydslApplication__ApplicationContextInitializer)를 찾는 기준
+        application.setMainApplicationClass(KimQuerydslApplication.class);
+        application.addListeners(new ExitAfterReady());
+        application.run(args);
+    }
+
+    static class ExitAfterReady implements ApplicationListener<ApplicationReadyEvent> {
+
+        @Override
+        public void onApplicationEvent(ApplicationReadyEvent event) {
+            warmUp(event.getApplicationContext().getEnvironment().getProperty("local.server.port"));
+            System.exit(SpringApplication.exit(event.getApplicationContext()));
+        }
+
+        private void warmUp(String port) {
+            if (port == null) {
+                return;
+            }
+            try {
+                HttpClient client = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(5)).build();
+                HttpResponse<Void> response = client.send(
+                    HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/v3/members")).GET().build(),
+                    HttpResponse.BodyHandlers.discarding());
+                System.out.println("startup warm-up /v3/members status=" + response.statusCode());
+            } catch (Exception e) {
+                System.out.println("startup warm-up failed: " + e);
+            }
+        }
+    }
+}
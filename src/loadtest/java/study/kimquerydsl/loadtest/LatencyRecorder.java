@@ -0,0 +1,90 @@
+package study.kimquerydsl.loadtest;
+
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * 워커 스레드 하나가 단독으로 사용하는 응답 시간 기록기 (동기화 없음).
+ * 측정이 끝나면 merge() 로 합친 뒤 백분위수를 계산한다.
+ * 동시 처리 한도 초과로 거절된 요청(503)은 오류와 따로 세고, 처리량과 응답 시간에도 넣지 않는다.
+ */
+public class LatencyRecorder {
+
+    private long[] latencies = new long[1024];
+    private int size;
+    private long errors;
+    private long rejected;
+
+    public void record(long latencyNanos) {
+        if (size == latencies.length) {
+            latencies = Arrays.copyOf(latencies, size * 2);
+        }
+        latencies[size++] = latencyNanos;
+    }
+
+    public void recordError() {
+        errors++;
+    }
+
+    public void recordRejected() {
+        rejected++;
+    }
+
+    public int count() {
+        return size;
+    }
+
+    public long errors() {
+        return errors;
+    }
+
+    public long rejected() {
+        return rejected;
+    }
+
+    public LatencyRecorder merge(LatencyRecorder other) {
+        LatencyRecorder merged = new LatencyRecorder();
+        merged.latencies = Arrays.copyOf(latencies, size + other.size);
+        System.arraycopy(other.latencies, 0, merged.latencies, size, other.size);
+        merged.size = size + other.size;
+        merged.errors = errors + other.errors;
+        merged.rejected = rejected + other.rejected;
+        return merged;
+    }
+
+    // elapsedNanos 동안의 처리량과 p50/p95/p99/p999 (ms)
+    public Map<String, Object> summary(long elapsedNanos) {
+        long[] sorted = Arrays.copyOf(latencies, size);
+        Arrays.sort(sorted);
+
+        Map<String, Object> map = new LinkedHashMap<>();
+        map.put("requests", size);
+        map.put("errors", errors);
+        map.put("rejected", rejected);
+        map.put("throughputPerSec", round(size / (elapsedNanos / 1_000_000_000.0)));
+        map.put("p50Ms", percentileMillis(sorted, 0.50));
+        map.put("p95Ms", percentileMillis(sorted, 0.95));
+        map.put("p99Ms", percentileMillis(sorted, 0.99));
+        map.put("p999Ms", percentileMillis(sorted, 0.999));
+        map.put("maxMs", sorted.length == 0 ? 0.0 : toMillis(sorted[sorted.length - 1]));
+        return map;
+    }
+
+    // nearest-rank 방식
+    static double percentileMillis(long[] sorted, double percentile) {
+        if (sorted.length == 0) {
+            return 0.0;
+        }
+        int rank = (int) Math.ceil(percentile * sorted.length);
+        return toMillis(sorted[Math.max(0, rank - 1)]);
+    }
+
+    private static double toMillis(long nanos) {
+        return round(nanos / 1_000_000.0);
+    }
+
+    private static double round(double value) {
+        return Math.round(value * 1000) / 1000.0;
+    }
+}
@@ -0,0 +1,126 @@
+package study.kimquerydsl.loadtest;
+
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * 부하 테스트 설정. 모든 값은 -Dloadtest.xxx 시스템 프로퍼티로 변경할 수 있다.
+ */
+public class LoadTestConfig {
+
+    private final int members;
+    private final int teams;
+    private final int concurrency;
+    private final int warmupSeconds;
+    private final int durationSeconds;
+    private final long seed;
+    // 0 이면 기존처럼 팀에 고르게 배정, 0 보다 크면 DatasetGenerator 로 Zipf 분포 적재
+    private final double zipfExponent;
+    // 검색 API 동시 처리 한도(member.concurrency-limit). 기본은 꺼서 서버 자체 처리량을 잰다. 켜면 503 은 rejected 로 따로 센다.
+    private final boolean concurrencyLimit;
+    private final Map<String, Integer> endpointMix;
+    private final Map<String, Integer> conditionMix;
+    private final Path output;
+
+    private LoadTestConfig() {
+        this.members = intProperty("loadtest.members", 10_000);
+        this.teams = intProperty("loadtest.teams", 10);
+        this.concurrency = intProperty("loadtest.concurrency", 16);
+        this.warmupSeconds = intProperty("loadtest.warmupSeconds", 5);
+        this.durationSeconds = intProperty("loadtest.durationSeconds", 30);
+        this.seed = Long.getLong("loadtest.seed", 42L);
+        this.zipfExponent = Double.parseDouble(System.getProperty("loadtest.zipfExponent", "0"));
+        this.concurrencyLimit = Boolean.parseBoolean(System.getProperty("loadtest.concurrencyLimit", "false"));
+        this.endpointMix = weights(System.getProperty("loadtest.endpointMix", "v1:1,v2:2,v3:2"));
+        this.conditionMix = weights(System.getProperty("loadtest.conditionMix", "all:1,team:3,age:3,username:3"));
+        this.output = Paths.get(System.getProperty("loadtest.output", "build/loadtest/result.json"));
+    }
+
+    public static LoadTestConfig fromSystemProperties() {
+        return new LoadTestConfig();
+    }
+
+    private static int intProperty(String key, int defaultValue) {
+        return Integer.getInteger(key, defaultValue);
+    }
+
+    // "v1:1,v2:2" -> {v1=1, v2=2}
+    static Map<String, Integer> weights(String spec) {
+        Map<String, Integer> result = new LinkedHashMap<>();
+        for (String token : spec.split(",")) {
+            String[] pair = token.trim().split(":");
+            if (pair.length != 2) {
+                throw new IllegalArgumentException("잘못된 가중치 설정: " + token);
+            }
+            int weight = Integer.parseInt(pair[1].trim());
+            if (weight > 0) {
+                result.put(pair[0].trim(), weight);
+            }
+        }
+        if (result.isEmpty()) {
+            throw new IllegalArgumentException("가중치가 비어 있습니다: " + spec);
+        }
+        return result;
+    }
+
+    public int getMembers() {
+        return members;
+    }
+
+    public int getTeams() {
+        return teams;
+    }
+
+    public int getConcurrency() {
+        return concurrency;
+    }
+
+    public int getWarmupSeconds() {
+        return warmupSeconds;
+    }
+
+    public int getDurationSeconds() {
+        return durationSeconds;
+    }
+
+    public long getSeed() {
+        return seed;
+    }
+
+    public double getZipfExponent() {
+        return zipfExponent;
+    }
+
+    public boolean isConcurrencyLimit() {
+        return concurrencyLimit;
+    }
+
+    public Map<String, Integer> getEndpointMix() {
+        return endpointMix;
+    }
+
+    public Map<String, Integer> getConditionMix() {
+        return conditionMix;
+    }
+
+    public Path getOutput() {
+        return output;
+    }
+
+    public Map<String, Object> toMap() {
+        Map<String, Object> map = new LinkedHashMap<>();
+        map.put("members", members);
+        map.put("teams", teams);
+        map.put("concurrency", concurrency);
+        map.put("warmupSeconds", warmupSeconds);
+        map.put("durationSeconds", durationSeconds);
+        map.put("seed", seed);
+        map.put("zipfExponent", zipfExponent);
+        map.put("concurrencyLimit", concurrencyLimit);
+        map.put("endpointMix", endpointMix);
+        map.put("conditionMix", conditionMix);
+        return map;
+    }
+}
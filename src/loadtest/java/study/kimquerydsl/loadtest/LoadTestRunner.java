@@ -0,0 +1,210 @@
+package study.kimquerydsl.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import jakarta.persistence.EntityManager;
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import org.springframework.boot.SpringApplication;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import study.kimquerydsl.KimQuerydslApplication;
+import study.kimquerydsl.dataset.DatasetGenerator;
+
+/**
+ * /v1, /v2, /v3 members 부하 테스트.
+ * 1. KimQuerydslApplication 을 인메모리 H2 로 기동하고 데이터를 적재한다.
+ * 2. 설정된 동시성, 엔드포인트/검색 조건 비율로 요청을 보낸다.
+ * 3. 처리량과 p50/p95/p99/p999 응답 시간을 JSON 파일로 남긴다. (빌드 간 diff 용)
+ *    동시 처리 한도는 loadtest.concurrencyLimit 로 명시적으로 켜고 끄며(기본 끔), 거절(503)은 rejected 로 따로 센다.
+ */
+public class LoadTestRunner {
+
+    // 동시 처리 한도 초과 (Retry-After)
+    private static final int SERVICE_UNAVAILABLE = 503;
+
+    public static void main(String[] args) throws Exception {
+        LoadTestConfig config = LoadTestConfig.fromSystemProperties();
+
+        long startupStart = System.nanoTime();
+        ConfigurableApplicationContext context = startSeeded(config);
+        try {
+            long startupMillis = Duration.ofNanos(System.nanoTime() - startupStart).toMillis();
+
+            int port = Integer.parseInt(context.getEnvironment().getProperty("local.server.port"));
+            Map<String, Object> report = run(config, "http://localhost:" + port);
+            report.put("startupAndSeedMillis", startupMillis);
+
+            writeReport(config.getOutput(), report);
+        } finally {
+            context.close();
+        }
+    }
+
+    // 인메모리 H2 로 애플리케이션을 띄우고 데이터를 적재한다.
+    static ConfigurableApplicationContext startSeeded(LoadTestConfig config) {
+        ConfigurableApplicationContext context = SpringApplication.run(KimQuerydslApplication.class,
+            "--spring.profiles.active=loadtest",
+            "--server.port=0",
+            "--spring.datasource.url=jdbc:h2:mem:loadtest;DB_CLOSE_DELAY=-1",
+            "--spring.jpa.properties.hibernate.jdbc.batch_size=1000",
+            "--spring.jpa.properties.hibernate.order_inserts=true",
+            "--logging.level.org.hibernate.SQL=warn",
+            "--decorator.datasource.p6spy.enable-logging=false",
+            "--member.concurrency-limit.enabled=" + config.isConcurrencyLimit());
+
+        new LoadTestSeeder(context.getBean(EntityManager.class),
+            new TransactionTemplate(context.getBean(PlatformTransactionManager.class)))
+            .seed(config, context.getBean(DatasetGenerator.class));
+        return context;
+    }
+
+    static void writeReport(Path output, Map<String, Object> report) throws IOException {
+        Files.createDirectories(output.toAbsolutePath().getParent());
+        new ObjectMapper()
+            .enable(SerializationFeature.INDENT_OUTPUT)
+            .writeValue(output.toFile(), report);
+        System.out.println("result = " + output.toAbsolutePath());
+    }
+
+    static Map<String, Object> run(LoadTestConfig config, String baseUrl) throws Exception {
+        HttpClient client = HttpClient.newBuilder()
+            .connectTimeout(Duration.ofSeconds(5))
+            .build();
+
+        // 워밍업 결과는 버린다.
+        execute(config, client, baseUrl, config.getWarmupSeconds(), config.getSeed() - 1);
+
+        long start = System.nanoTime();
+        List<Map<String, LatencyRecorder>> perWorker =
+            execute(config, client, baseUrl, config.getDurationSeconds(), config.getSeed());
+        long elapsed = System.nanoTime() - start;
+
+        LatencyRecorder total = new LatencyRecorder();
+        Map<String, LatencyRecorder> byEndpoint = new LinkedHashMap<>();
+        for (Map<String, LatencyRecorder> recorders : perWorker) {
+            for (Map.Entry<String, LatencyRecorder> entry : recorders.entrySet()) {
+                byEndpoint.merge(entry.getKey(), entry.getValue(), LatencyRecorder::merge);
+                total = total.merge(entry.getValue());
+            }
+        }
+
+        Map<String, Object> endpoints = new LinkedHashMap<>();
+        for (String endpoint : config.getEndpointMix().keySet()) {
+            LatencyRecorder recorder = byEndpoint.getOrDefault(endpoint, new LatencyRecorder());
+            endpoints.put(endpoint, recorder.summary(elapsed));
+        }
+
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("finishedAt", Instant.now().toString());
+        report.put("config", config.toMap());
+        report.put("elapsedSeconds", elapsed / 1_000_000_000.0);
+        report.put("total", total.summary(elapsed));
+        report.put("endpoints", endpoints);
+        return report;
+    }
+
+    private static List<Map<String, LatencyRecorder>> execute(LoadTestConfig config, HttpClient client,
+        String baseUrl, int seconds, long seed) throws Exception {
+
+        if (seconds <= 0) {
+            return List.of();
+        }
+
+        long deadline = System.nanoTime() + Duration.ofSeconds(seconds).toNanos();
+        ExecutorService executor = Executors.newFixedThreadPool(config.getConcurrency());
+        try {
+            List<Future<Map<String, LatencyRecorder>>> futures = new ArrayList<>();
+            for (int i = 0; i < config.getConcurrency(); i++) {
+                Random random = new Random(seed * 31 + i);
+                futures.add(executor.submit(() -> worker(config, client, baseUrl, deadline, random)));
+            }
+
+            List<Map<String, LatencyRecorder>> results = new ArrayList<>();
+            for (Future<Map<String, LatencyRecorder>> future : futures) {
+                results.add(future.get());
+            }
+            return results;
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private static Map<String, LatencyRecorder> worker(LoadTestConfig config, HttpClient client,
+        String baseUrl, long deadline, Random random) {
+
+        Map<String, LatencyRecorder> recorders = new HashMap<>();
+        while (System.nanoTime() < deadline) {
+            String endpoint = pick(config.getEndpointMix(), random);
+            String condition = pick(config.getConditionMix(), random);
+            URI uri = URI.create(baseUrl + "/" + endpoint + "/members?" + query(config, endpoint, condition, random));
+
+            LatencyRecorder recorder = recorders.computeIfAbsent(endpoint, key -> new LatencyRecorder());
+            long start = System.nanoTime();
+            try {
+                HttpResponse<Void> response = client.send(HttpRequest.newBuilder(uri).GET().build(),
+                    HttpResponse.BodyHandlers.discarding());
+                if (response.statusCode() / 100 == 2) {
+                    recorder.record(System.nanoTime() - start);
+                } else if (response.statusCode() == SERVICE_UNAVAILABLE) {
+                    recorder.recordRejected();
+                } else {
+                    recorder.recordError();
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            } catch (Exception e) {
+                recorder.recordError();
+            }
+        }
+        return recorders;
+    }
+
+    private static String query(LoadTestConfig config, String endpoint, String condition, Random random) {
+        String query = switch (condition) {
+            case "all" -> "";
+            case "team" -> "teamName=" + LoadTestSeeder.teamName(random.nextInt(config.getTeams()));
+            case "age" -> {
+                int ageGoe = random.nextInt(90);
+                yield "ageGoe=" + ageGoe + "&ageLoe=" + (ageGoe + 10);
+            }
+            case "username" -> "username=" + LoadTestSeeder.username(random.nextInt(Math.max(1, config.getMembers())));
+            default -> throw new IllegalArgumentException("알 수 없는 검색 조건: " + condition);
+        };
+
+        if (!"v1".equals(endpoint)) {
+            query += (query.isEmpty() ? "" : "&") + "page=" + random.nextInt(5) + "&size=20";
+        }
+        return query;
+    }
+
+    private static String pick(Map<String, Integer> weights, Random random) {
+        int total = weights.values().stream().mapToInt(Integer::intValue).sum();
+        int target = random.nextInt(total);
+        for (Map.Entry<String, Integer> entry : weights.entrySet()) {
+            target -= entry.getValue();
+            if (target < 0) {
+                return entry.getKey();
+            }
+        }
+        throw new IllegalStateException();
+    }
+}
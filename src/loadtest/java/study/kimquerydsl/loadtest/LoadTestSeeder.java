@@ -0,0 +1,78 @@
+package study.kimquerydsl.loadtest;
+
+import jakarta.persistence.EntityManager;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import org.springframework.transaction.support.TransactionTemplate;
+import study.kimquerydsl.dataset.DatasetGenerator;
+import study.kimquerydsl.dataset.DatasetProperties;
+import study.kimquerydsl.entity.Member;
+import study.kimquerydsl.entity.Team;
+
+/**
+ * 부하 테스트용 데이터 적재. 팀 members 컬렉션을 건드리지 않도록 assignTeam() 으로 연관관계만 설정한다.
+ * loadtest.zipfExponent 가 0 보다 크면 DatasetGenerator 로 팀 크기가 치우친 데이터를 적재한다.
+ * 어느 쪽이든 팀명, 회원명은 DatasetGenerator 와 같은 규칙(teamName(n), username(n))이라 검색 조건을 같이 쓴다.
+ */
+public class LoadTestSeeder {
+
+    private static final int FLUSH_SIZE = 1_000;
+
+    private final EntityManager em;
+    private final TransactionTemplate transactionTemplate;
+
+    public LoadTestSeeder(EntityManager em, TransactionTemplate transactionTemplate) {
+        this.em = em;
+        this.transactionTemplate = transactionTemplate;
+    }
+
+    public static String teamName(int n) {
+        return DatasetGenerator.TEAM_NAME_PREFIX + n;
+    }
+
+    public static String username(int n) {
+        return DatasetGenerator.USERNAME_PREFIX + n;
+    }
+
+    public void seed(LoadTestConfig config, DatasetGenerator datasetGenerator) {
+        if (config.getZipfExponent() > 0) {
+            DatasetProperties properties = new DatasetProperties();
+            properties.setMembers(config.getMembers());
+            properties.setTeams(config.getTeams());
+            properties.setSeed(config.getSeed());
+            properties.setZipfExponent(config.getZipfExponent());
+            datasetGenerator.generate(properties);
+            return;
+        }
+        seed(config);
+    }
+
+    public void seed(LoadTestConfig config) {
+        // 준영속 팀을 연관관계에 그대로 쓴다. (외래 키로 id 만 사용, 팀 이름은 이미 알고 있으므로 조회하지 않는다)
+        List<Team> teams = transactionTemplate.execute(status -> {
+            List<Team> created = new ArrayList<>();
+            for (int i = 0; i < config.getTeams(); i++) {
+                Team team = new Team(teamName(i));
+                em.persist(team);
+                created.add(team);
+            }
+            return created;
+        });
+
+        Random random = new Random(config.getSeed());
+        for (int start = 0; start < config.getMembers(); start += FLUSH_SIZE) {
+            int from = start;
+            int to = Math.min(start + FLUSH_SIZE, config.getMembers());
+            transactionTemplate.executeWithoutResult(status -> {
+                for (int i = from; i < to; i++) {
+                    Member member = new Member(username(i), random.nextInt(100));
+                    member.assignTeam(teams.get(i % teams.size()));
+                    em.persist(member);
+                }
+                em.flush();
+                em.clear();
+            });
+        }
+    }
+}
@@ -0,0 +1,96 @@
+package study.kimquerydsl.loadtest;
+
+import jakarta.persistence.EntityManager;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.nio.file.Paths;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Supplier;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import study.kimquerydsl.dto.MemberSearchCondition;
+import study.kimquerydsl.entity.Member;
+import study.kimquerydsl.repository.MemberJpaRepository;
+
+/**
+ * 엔티티 대량 조회 시 기본 조회(스냅샷 O) vs 읽기 전용 조회(스냅샷 X) 힙 사용량, flush 시간 비교.
+ * 서비스 계층의 일반(읽기/쓰기) 트랜잭션 안에서 조회하는 경우를 잰다. (readOnly 트랜잭션이면 둘 다 스냅샷이 없다)
+ * ./gradlew loadTest -PloadtestMain=study.kimquerydsl.loadtest.ReadOnlyHeapBenchmark -Dloadtest.members=200000
+ * 결과: build/loadtest/read-only-heap-benchmark.json
+ */
+public class ReadOnlyHeapBenchmark {
+
+    public static void main(String[] args) throws Exception {
+        LoadTestConfig config = LoadTestConfig.fromSystemProperties();
+        int rounds = Integer.getInteger("loadtest.benchmarkIterations", 5);
+
+        ConfigurableApplicationContext context = LoadTestRunner.startSeeded(config);
+        try {
+            MemberJpaRepository memberJpaRepository = context.getBean(MemberJpaRepository.class);
+            EntityManager em = context.getBean(EntityManager.class);
+            TransactionTemplate transactionTemplate =
+                new TransactionTemplate(context.getBean(PlatformTransactionManager.class));
+            MemberSearchCondition all = new MemberSearchCondition();
+
+            Map<String, Supplier<List<Member>>> scenarios = new LinkedHashMap<>();
+            scenarios.put("managed", () -> memberJpaRepository.findMember(all));
+            scenarios.put("readOnly", () -> memberJpaRepository.findMemberReadOnly(all, null));
+
+            Map<String, Object> results = new LinkedHashMap<>();
+            for (Map.Entry<String, Supplier<List<Member>>> scenario : scenarios.entrySet()) {
+                transactionTemplate.executeWithoutResult(status -> scenario.getValue().get()); // 워밍업
+
+                long retainedBytes = 0;
+                long queryNanos = 0;
+                long flushNanos = 0;
+                int rows = 0;
+                for (int i = 0; i < rounds; i++) {
+                    long[] measured = transactionTemplate.execute(status -> {
+                        long before = usedHeapAfterGc();
+                        long begin = System.nanoTime();
+                        List<Member> result = scenario.getValue().get();
+                        long queried = System.nanoTime();
+                        // 결과와 영속성 컨텍스트(엔티티 + 스냅샷)가 살아 있는 상태에서 측정
+                        long retained = usedHeapAfterGc() - before;
+                        long flushBegin = System.nanoTime();
+                        em.flush(); // 스냅샷이 있으면 엔티티마다 변경 여부 비교
+                        long flushed = System.nanoTime();
+                        return new long[]{retained, queried - begin, flushed - flushBegin, result.size()};
+                    });
+                    retainedBytes += measured[0];
+                    queryNanos += measured[1];
+                    flushNanos += measured[2];
+                    rows = (int) measured[3];
+                }
+
+                Map<String, Object> summary = new LinkedHashMap<>();
+                summary.put("rows", rows);
+                summary.put("retainedBytes", retainedBytes / rounds);
+                summary.put("bytesPerRow", rows == 0 ? 0 : retainedBytes / rounds / rows);
+                summary.put("queryMillis", queryNanos / rounds / 1_000_000.0);
+                summary.put("flushMillis", flushNanos / rounds / 1_000_000.0);
+                results.put(scenario.getKey(), summary);
+            }
+
+            Map<String, Object> report = new LinkedHashMap<>();
+            report.put("config", config.toMap());
+            report.put("rounds", rounds);
+            report.put("scenarios", results);
+            LoadTestRunner.writeReport(Paths.get("build/loadtest/read-only-heap-benchmark.json"), report);
+        } finally {
+            context.close();
+        }
+    }
+
+    // System.gc() 는 힌트일 뿐이므로 몇 번 반복해서 값이 안정되게 한다.
+    private static long usedHeapAfterGc() {
+        MemoryMXBean memory = ManagementFactory.getMemoryMXBean();
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+        }
+        return memory.getHeapMemoryUsage().getUsed();
+    }
+}
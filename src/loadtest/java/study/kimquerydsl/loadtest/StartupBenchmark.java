@@ -0,0 +1,124 @@
+package study.kimquerydsl.loadtest;
+
+import java.io.File;
+import java.net.ServerSocket;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * 기동 시간 비교 (./gradlew startupBenchmark -Dstartup.runs=5)
+ * - plain   : 일반 클래스패스
+ * - aot     : AOT 생성 클래스 + -Dspring.aot.enabled=true
+ * - aot-cds : aot + -XX:SharedArchiveFile=app.jsa
+ * 자식 JVM 을 띄워 첫 /v3/members 200 응답까지의 시간을 잰다.
+ */
+public class StartupBenchmark {
+
+    private static final Duration TIMEOUT = Duration.ofSeconds(120);
+
+    public static void main(String[] args) throws Exception {
+        Path dir = Paths.get(System.getProperty("startup.dir", "build/cds"));
+        int runs = Integer.getInteger("startup.runs", 5);
+        Path output = Paths.get(System.getProperty("startup.output", "build/loadtest/startup.json"));
+
+        String java = Paths.get(System.getProperty("java.home"), "bin", "java").toString();
+        String plainClasspath = System.getProperty("startup.plainClasspath");
+        String aotClasspath = aotClasspath(dir);
+
+        Map<String, List<String>> modes = new LinkedHashMap<>();
+        modes.put("plain", List.of(java, "-cp", plainClasspath));
+        modes.put("aot", List.of(java, "-Dspring.aot.enabled=true", "-cp", aotClasspath));
+        modes.put("aot-cds", List.of(java, "-XX:SharedArchiveFile=app.jsa", "-Dspring.aot.enabled=true",
+            "-cp", aotClasspath));
+
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("runs", runs);
+        for (Map.Entry<String, List<String>> mode : modes.entrySet()) {
+            List<Long> millis = new ArrayList<>();
+            for (int i = 0; i < runs; i++) {
+                millis.add(measure(mode.getValue(), dir));
+            }
+            report.put(mode.getKey(), summary(millis));
+            System.out.println(mode.getKey() + " = " + millis);
+        }
+
+        LoadTestRunner.writeReport(output, report);
+    }
+
+    // cdsArchive 와 같은 순서의 클래스패스여야 아카이브가 사용된다.
+    private static String aotClasspath(Path dir) throws Exception {
+        try (Stream<Path> libs = Files.list(dir.resolve("lib"))) {
+            List<String> entries = new ArrayList<>();
+            entries.add("app.jar");
+            entries.addAll(libs.map(p -> "lib/" + p.getFileName()).sorted().collect(Collectors.toList()));
+            return String.join(File.pathSeparator, entries);
+        }
+    }
+
+    private static long measure(List<String> command, Path dir) throws Exception {
+        int port = freePort();
+        List<String> full = new ArrayList<>(command);
+        full.add("study.kimquerydsl.KimQuerydslApplication");
+        full.add("--server.port=" + port);
+        full.add("--spring.datasource.url=jdbc:h2:mem:startup;DB_CLOSE_DELAY=-1");
+
+        HttpClient client = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(1)).build();
+        HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/v3/members"))
+            .GET().build();
+
+        long start = System.nanoTime();
+        Process process = new ProcessBuilder(full)
+            .directory(dir.toFile())
+            .redirectOutput(ProcessBuilder.Redirect.DISCARD)
+            .redirectError(ProcessBuilder.Redirect.DISCARD)
+            .start();
+        try {
+            while (System.nanoTime() - start < TIMEOUT.toNanos()) {
+                if (!process.isAlive()) {
+                    throw new IllegalStateException("application exited: " + process.exitValue());
+                }
+                try {
+                    HttpResponse<Void> response = client.send(request, HttpResponse.BodyHandlers.discarding());
+                    if (response.statusCode() == 200) {
+                        return Duration.ofNanos(System.nanoTime() - start).toMillis();
+                    }
+                } catch (java.io.IOException e) {
+                    // 아직 기동 중
+                }
+                Thread.sleep(10);
+            }
+            throw new IllegalStateException("timeout waiting for /v3/members");
+        } finally {
+            process.destroy();
+            process.waitFor();
+        }
+    }
+
+    private static Map<String, Object> summary(List<Long> millis) {
+        List<Long> sorted = millis.stream().sorted().collect(Collectors.toList());
+        Map<String, Object> summary = new LinkedHashMap<>();
+        summary.put("millis", millis);
+        summary.put("minMs", sorted.get(0));
+        summary.put("medianMs", sorted.get(sorted.size() / 2));
+        summary.put("maxMs", sorted.get(sorted.size() - 1));
+        return summary;
+    }
+
+    private static int freePort() throws Exception {
+        try (ServerSocket socket = new ServerSocket(0)) {
+            return socket.getLocalPort();
+        }
+    }
+}
@@ -0,0 +1,114 @@
+package study.kimquerydsl.loadtest;
+
+import jakarta.persistence.EntityManager;
+import java.nio.file.Paths;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BiConsumer;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import study.kimquerydsl.entity.Member;
+import study.kimquerydsl.entity.Team;
+import study.kimquerydsl.service.MemberTeamService;
+
+/**
+ * 인기 팀 하나로 동시에 팀 이동할 때 스레드 수별 처리량 비교
+ * - entity: member.changeTeam(team) (Team.members 컬렉션 로딩 + 추가)
+ * - fk    : MemberTeamService.joinTeam() (member.team_id compare-and-set)
+ * ./gradlew loadTest -PloadtestMain=study.kimquerydsl.loadtest.TeamJoinBenchmark -Dloadtest.durationSeconds=5
+ * 결과: build/loadtest/team-join-benchmark.json
+ */
+public class TeamJoinBenchmark {
+
+    private static final int[] THREADS = {1, 2, 4, 8, 16};
+
+    public static void main(String[] args) throws Exception {
+        LoadTestConfig config = LoadTestConfig.fromSystemProperties();
+
+        ConfigurableApplicationContext context = LoadTestRunner.startSeeded(config);
+        try {
+            EntityManager em = context.getBean(EntityManager.class);
+            TransactionTemplate transactionTemplate =
+                new TransactionTemplate(context.getBean(PlatformTransactionManager.class));
+            MemberTeamService memberTeamService = context.getBean(MemberTeamService.class);
+
+            List<Long> teamIds = transactionTemplate.execute(status -> em
+                .createQuery("select t.id from Team t order by t.id", Long.class)
+                .getResultList());
+            List<Long> memberIds = transactionTemplate.execute(status -> em
+                .createQuery("select m.id from Member m", Long.class)
+                .getResultList());
+
+            // 첫 팀이 인기 팀. 이동할 때마다 회원을 인기 팀과 다른 팀 사이에서 오가게 한다.
+            Long popularTeamId = teamIds.get(0);
+            Map<String, BiConsumer<Long, Long>> paths = new LinkedHashMap<>();
+            paths.put("entity", (memberId, teamId) -> transactionTemplate.executeWithoutResult(status ->
+                em.find(Member.class, memberId).changeTeam(em.find(Team.class, teamId))));
+            paths.put("fk", memberTeamService::joinTeam);
+
+            Map<String, Object> results = new LinkedHashMap<>();
+            for (Map.Entry<String, BiConsumer<Long, Long>> path : paths.entrySet()) {
+                Map<String, Object> byThreads = new LinkedHashMap<>();
+                for (int threads : THREADS) {
+                    byThreads.put(String.valueOf(threads), run(path.getValue(), threads, config.getDurationSeconds(),
+                        memberIds, teamIds, popularTeamId));
+                }
+                results.put(path.getKey(), byThreads);
+            }
+
+            Map<String, Object> report = new LinkedHashMap<>();
+            report.put("config", config.toMap());
+            report.put("results", results);
+            LoadTestRunner.writeReport(Paths.get("build/loadtest/team-join-benchmark.json"), report);
+        } finally {
+            context.close();
+        }
+    }
+
+    private static Map<String, Object> run(BiConsumer<Long, Long> join, int threads, int durationSeconds,
+        List<Long> memberIds, List<Long> teamIds, Long popularTeamId) throws Exception {
+        LatencyRecorder[] recorders = new LatencyRecorder[threads];
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(durationSeconds);
+
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        long start = System.nanoTime();
+        Future<?>[] futures = new Future<?>[threads];
+        for (int t = 0; t < threads; t++) {
+            LatencyRecorder recorder = new LatencyRecorder();
+            recorders[t] = recorder;
+            futures[t] = executor.submit(() -> {
+                ThreadLocalRandom random = ThreadLocalRandom.current();
+                while (System.nanoTime() < deadline) {
+                    Long memberId = memberIds.get(random.nextInt(memberIds.size()));
+                    Long teamId = random.nextBoolean() ? popularTeamId : teamIds.get(random.nextInt(teamIds.size()));
+                    long begin = System.nanoTime();
+                    try {
+                        join.accept(memberId, teamId);
+                        recorder.record(System.nanoTime() - begin);
+                    } catch (RuntimeException e) {
+                        recorder.recordError();
+                    }
+                }
+            });
+        }
+        for (Future<?> future : futures) {
+            future.get();
+        }
+        long elapsed = System.nanoTime() - start;
+        executor.shutdown();
+
+        LatencyRecorder merged = new LatencyRecorder();
+        for (LatencyRecorder recorder : recorders) {
+            merged = merged.merge(recorder);
+        }
+        System.out.println("threads=" + threads + " errors=" + merged.errors());
+        return merged.summary(elapsed);
+    }
+}
@@ -0,0 +1,86 @@
+package study.kimquerydsl.loadtest;
+
+import static study.kimquerydsl.entity.QMember.member;
+import static study.kimquerydsl.entity.QTeam.team;
+
+import com.querydsl.jpa.impl.JPAQueryFactory;
+import jakarta.persistence.EntityManager;
+import java.nio.file.Paths;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Supplier;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import study.kimquerydsl.dto.MemberSearchCondition;
+import study.kimquerydsl.dto.QMemberTeamDto;
+import study.kimquerydsl.repository.MemberRepository;
+
+/**
+ * team 조인 검색(searchPageComplex) vs 비정규화 컬럼 검색(searchPageNoJoin) 비교.
+ * ./gradlew loadTest -PloadtestMain=study.kimquerydsl.loadtest.TeamNameSearchBenchmark -Dloadtest.benchmarkIterations=200
+ * 결과: build/loadtest/team-name-benchmark.json
+ */
+public class TeamNameSearchBenchmark {
+
+    public static void main(String[] args) throws Exception {
+        LoadTestConfig config = LoadTestConfig.fromSystemProperties();
+        int iterations = Integer.getInteger("loadtest.benchmarkIterations", 200);
+
+        ConfigurableApplicationContext context = LoadTestRunner.startSeeded(config);
+        try {
+            MemberRepository memberRepository = context.getBean(MemberRepository.class);
+            JPAQueryFactory queryFactory = new JPAQueryFactory(context.getBean(EntityManager.class));
+            TransactionTemplate transactionTemplate =
+                new TransactionTemplate(context.getBean(PlatformTransactionManager.class));
+            transactionTemplate.setReadOnly(true);
+
+            MemberSearchCondition byTeam = new MemberSearchCondition();
+            byTeam.setTeamName(LoadTestSeeder.teamName(1));
+            MemberSearchCondition all = new MemberSearchCondition();
+            PageRequest page = PageRequest.of(10, 20);
+            PageRequest sortedPage = PageRequest.of(10, 20, Sort.by("teamName", "username"));
+
+            Map<String, Supplier<Object>> scenarios = new LinkedHashMap<>();
+            scenarios.put("filterTeamName.join", () -> memberRepository.searchPageComplex(byTeam, page));
+            scenarios.put("filterTeamName.noJoin", () -> memberRepository.searchPageNoJoin(byTeam, page));
+            // searchPageComplex 는 정렬을 지원하지 않으므로 같은 모양의 조인 쿼리를 직접 만든다.
+            scenarios.put("sortTeamName.join", () -> queryFactory
+                .select(new QMemberTeamDto(member.id, member.username, member.age, team.id, team.name))
+                .from(member)
+                .leftJoin(member.team, team)
+                .orderBy(team.name.asc(), member.username.asc())
+                .offset(sortedPage.getOffset())
+                .limit(sortedPage.getPageSize())
+                .fetch());
+            scenarios.put("sortTeamName.noJoin", () -> memberRepository.searchPageNoJoin(all, sortedPage));
+
+            Map<String, Object> results = new LinkedHashMap<>();
+            for (Map.Entry<String, Supplier<Object>> scenario : scenarios.entrySet()) {
+                // 워밍업
+                for (int i = 0; i < iterations / 10; i++) {
+                    transactionTemplate.execute(status -> scenario.getValue().get());
+                }
+
+                LatencyRecorder recorder = new LatencyRecorder();
+                long start = System.nanoTime();
+                for (int i = 0; i < iterations; i++) {
+                    long begin = System.nanoTime();
+                    transactionTemplate.execute(status -> scenario.getValue().get());
+                    recorder.record(System.nanoTime() - begin);
+                }
+                results.put(scenario.getKey(), recorder.summary(System.nanoTime() - start));
+            }
+
+            Map<String, Object> report = new LinkedHashMap<>();
+            report.put("config", config.toMap());
+            report.put("iterations", iterations);
+            report.put("scenarios", results);
+            LoadTestRunner.writeReport(Paths.get("build/loadtest/team-name-benchmark.json"), report);
+        } finally {
+            context.close();
+        }
+    }
+}
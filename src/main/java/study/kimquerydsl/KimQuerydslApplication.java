@@ -2,8 +2,11 @@ package study.kimquerydsl;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.context.annotation.ImportRuntimeHints;
+import study.kimquerydsl.config.QuerydslRuntimeHints;
 
 @SpringBootApplication
+@ImportRuntimeHints(QuerydslRuntimeHints.class)
 public class KimQuerydslApplication {
 
     public static void main(String[] args) {
@@ -0,0 +1,26 @@
+package study.kimquerydsl.config;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.jdbc.core.JdbcTemplate;
+import study.kimquerydsl.event.CacheInvalidationBus;
+import study.kimquerydsl.event.JdbcCacheInvalidationBus;
+import study.kimquerydsl.event.LoopbackCacheInvalidationBus;
+
+/**
+ * 캐시 무효화 버스 선택 (cache.invalidation.type)
+ * AOT 처리 시점에 @Conditional 이 고정되지 않도록 실행 시점에 프로퍼티로 고른다.
+ */
+@Configuration
+public class CacheInvalidationConfig {
+
+    @Bean
+    public CacheInvalidationBus cacheInvalidationBus(CacheInvalidationProperties properties, JdbcTemplate jdbcTemplate) {
+        if (properties.getType() == CacheInvalidationProperties.Type.JDBC) {
+            JdbcCacheInvalidationBus bus = new JdbcCacheInvalidationBus(jdbcTemplate, properties);
+            bus.start();
+            return bus;
+        }
+        return new LoopbackCacheInvalidationBus();
+    }
+}
@@ -0,0 +1,30 @@
+package study.kimquerydsl.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * 노드 간 캐시 무효화 설정 (cache.invalidation.*)
+ */
+@Getter
+@Setter
+@Component
+@ConfigurationProperties(prefix = "cache.invalidation")
+public class CacheInvalidationProperties {
+
+    // loopback: 단일 노드(테스트), jdbc: 공유 DB 테이블 폴링으로 다른 노드에 전달
+    private Type type = Type.LOOPBACK;
+
+    // jdbc - 발행 메시지 기록 + 다른 노드 메시지 조회 주기 (= 다른 노드 캐시가 옛 값을 볼 수 있는 최대 시간)
+    private long pollIntervalMillis = 1_000;
+
+    // jdbc - 이 시간이 지난 메시지는 삭제
+    private long retentionMinutes = 10;
+
+    public enum Type {
+        LOOPBACK,
+        JDBC
+    }
+}
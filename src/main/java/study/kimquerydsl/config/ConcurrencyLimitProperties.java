@@ -0,0 +1,52 @@
+package study.kimquerydsl.config;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * 검색 API 동시 처리 수 자동 조절 (member.concurrency-limit.*)
+ */
+@Getter
+@Setter
+@Component
+@ConfigurationProperties(prefix = "member.concurrency-limit")
+public class ConcurrencyLimitProperties {
+
+    private boolean enabled = true;
+
+    // 엔드포인트별 동시 처리 한도의 시작값, 범위
+    private int initialLimit = 20;
+    private int minLimit = 2;
+    private int maxLimit = 200;
+
+    // 응답 시간이 평소(장기 평균)의 tolerance 배까지는 느려져도 한도를 줄이지 않는다.
+    private double tolerance = 1.5;
+
+    // 한도 변경 반영 비율 (0~1, 클수록 빠르게 반응)
+    private double smoothing = 0.2;
+
+    // 거절(503) 시 Retry-After 헤더 (초)
+    private int retryAfterSeconds = 1;
+
+    // HIGH 엔드포인트 중 하나라도 사용량이 한도의 이 비율 이상이면 LOW 엔드포인트를 먼저 거절한다.
+    private double lowPriorityWatermark = 0.8;
+
+    // 대상 엔드포인트와 우선순위
+    private Map<String, Priority> endpoints = new LinkedHashMap<>(Map.of(
+        "/v1/members", Priority.LOW,
+        "/v1/members/stream", Priority.LOW,
+        "/v1/teams/members", Priority.LOW,
+        "/v2/members", Priority.HIGH,
+        "/v3/members", Priority.HIGH,
+        "/v4/members", Priority.HIGH
+    ));
+
+    public enum Priority {
+        HIGH, // 페이징으로 비용이 제한된 경로
+        LOW   // 결과 건수 제한이 없는(스트리밍) 경로, 부하가 높으면 먼저 거절
+    }
+}
@@ -0,0 +1,42 @@
+package study.kimquerydsl.config;
+
+import org.hibernate.boot.model.FunctionContributions;
+import org.hibernate.dialect.H2Dialect;
+import org.hibernate.query.sqm.function.SqmFunctionRegistry;
+import org.hibernate.type.BasicType;
+import org.hibernate.type.BasicTypeRegistry;
+import org.hibernate.type.StandardBasicTypes;
+
+/**
+ * 윈도우 함수 등록 (JPQL 에는 over 절이 없으므로 패턴 함수로 등록한다)
+ * 사용: function('avg_over', m.age, m.team.id) -> avg(age) over (partition by team_id)
+ *
+ * @see study.kimquerydsl.repository.support.WindowExpressions
+ */
+public class CustomH2Dialect extends H2Dialect {
+
+    @Override
+    public void initializeFunctionRegistry(FunctionContributions functionContributions) {
+        super.initializeFunctionRegistry(functionContributions);
+
+        SqmFunctionRegistry registry = functionContributions.getFunctionRegistry();
+        BasicTypeRegistry types = functionContributions.getTypeConfiguration().getBasicTypeRegistry();
+        BasicType<Long> longType = types.resolve(StandardBasicTypes.LONG);
+        BasicType<Double> doubleType = types.resolve(StandardBasicTypes.DOUBLE);
+
+        register(registry, "row_number_over", "row_number() over (partition by ?1 order by ?2)", longType, 2);
+        register(registry, "row_number_over_desc", "row_number() over (partition by ?1 order by ?2 desc)", longType, 2);
+        register(registry, "rank_over", "rank() over (partition by ?1 order by ?2)", longType, 2);
+        register(registry, "rank_over_desc", "rank() over (partition by ?1 order by ?2 desc)", longType, 2);
+        register(registry, "avg_over", "avg(?1) over (partition by ?2)", doubleType, 2);
+        register(registry, "count_over", "count(*) over (partition by ?1)", longType, 1);
+    }
+
+    private void register(SqmFunctionRegistry registry, String name, String pattern, BasicType<?> type,
+        int argumentCount) {
+        registry.patternDescriptorBuilder(name, pattern)
+            .setInvariantType(type)
+            .setExactArgumentCount(argumentCount)
+            .register();
+    }
+}
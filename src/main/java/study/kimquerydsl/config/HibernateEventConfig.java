@@ -0,0 +1,44 @@
+package study.kimquerydsl.config;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.RequiredArgsConstructor;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.event.service.spi.EventListenerRegistry;
+import org.hibernate.event.spi.EventType;
+import org.springframework.context.annotation.Configuration;
+import study.kimquerydsl.event.CacheInvalidationEventListener;
+import study.kimquerydsl.event.EntityVersionEventListener;
+import study.kimquerydsl.event.TeamMemberCountEventListener;
+
+/**
+ * 스프링 빈으로 만든 하이버네이트 이벤트 리스너 등록
+ */
+@Configuration
+@RequiredArgsConstructor
+public class HibernateEventConfig {
+
+    private final EntityManagerFactory entityManagerFactory;
+    private final EntityVersionEventListener entityVersionEventListener;
+    private final TeamMemberCountEventListener teamMemberCountEventListener;
+    private final CacheInvalidationEventListener cacheInvalidationEventListener;
+
+    @PostConstruct
+    public void registerListeners() {
+        EventListenerRegistry registry = entityManagerFactory.unwrap(SessionFactoryImplementor.class)
+            .getServiceRegistry()
+            .getService(EventListenerRegistry.class);
+
+        registry.appendListeners(EventType.POST_COMMIT_INSERT, entityVersionEventListener);
+        registry.appendListeners(EventType.POST_COMMIT_UPDATE, entityVersionEventListener);
+        registry.appendListeners(EventType.POST_COMMIT_DELETE, entityVersionEventListener);
+
+        registry.appendListeners(EventType.POST_COMMIT_INSERT, cacheInvalidationEventListener);
+        registry.appendListeners(EventType.POST_COMMIT_UPDATE, cacheInvalidationEventListener);
+        registry.appendListeners(EventType.POST_COMMIT_DELETE, cacheInvalidationEventListener);
+
+        registry.appendListeners(EventType.POST_INSERT, teamMemberCountEventListener);
+        registry.appendListeners(EventType.POST_UPDATE, teamMemberCountEventListener);
+        registry.appendListeners(EventType.POST_DELETE, teamMemberCountEventListener);
+    }
+}
@@ -0,0 +1,25 @@
+package study.kimquerydsl.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * 회원 나이 증감 write-behind 설정 (member.age-buffer.*)
+ */
+@Getter
+@Setter
+@Component
+@ConfigurationProperties(prefix = "member.age-buffer")
+public class MemberAgeBufferProperties {
+
+    // 주기적으로 flush (= DB 에 반영되기까지 최대 지연)
+    private long flushIntervalMillis = 1_000;
+
+    // 대기 중인 회원 수가 이 값 이상이면 주기를 기다리지 않고 flush
+    private int maxPending = 10_000;
+
+    // 종료 시 남은 증감을 반영할지 (false 면 종료 시점의 미반영 증감은 버려진다)
+    private boolean flushOnShutdown = true;
+}
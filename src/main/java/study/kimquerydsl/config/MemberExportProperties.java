@@ -0,0 +1,28 @@
+package study.kimquerydsl.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * 회원 전체 내보내기 설정 (member.export.*)
+ */
+@Getter
+@Setter
+@Component
+@ConfigurationProperties(prefix = "member.export")
+public class MemberExportProperties {
+
+    // 실행마다 하위 디렉토리(yyyyMMdd-HHmmss)를 만든다.
+    private String dir = System.getProperty("java.io.tmpdir") + "/kimquerydsl/export";
+
+    // 동시에 읽고 쓰는 파티션 수 (= 동시에 사용하는 커넥션 수, 커넥션 풀 크기보다 작게)
+    private int parallelism = 4;
+
+    // member_id 범위를 몇 개로 나눌지. 파티션 크기가 고르지 않아도 놀지 않도록 parallelism 보다 크게
+    private int partitions = 16;
+
+    // JDBC fetch size
+    private int fetchSize = 1_000;
+}
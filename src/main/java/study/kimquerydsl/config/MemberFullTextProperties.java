@@ -0,0 +1,30 @@
+package study.kimquerydsl.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * 회원 전문 검색 인덱스 설정 (member.fulltext.*)
+ */
+@Getter
+@Setter
+@Component
+@ConfigurationProperties(prefix = "member.fulltext")
+public class MemberFullTextProperties {
+
+    // 인덱스 디렉토리, 비어 있으면 메모리 인덱스 (테스트)
+    // 노드마다 고정된 경로를 써서 재시작해도 같은 디렉토리를 다시 쓴다. (application.yml 은 서버 포트별 경로)
+    // 같은 호스트에서 여러 인스턴스를 띄우면 Lucene write.lock 이 겹치지 않도록 인스턴스마다 다른 경로를 준다.
+    private String indexDir = System.getProperty("java.io.tmpdir") + "/kimquerydsl/member-index";
+
+    // 변경된 회원을 모아서 인덱싱하는 주기 (= 검색 결과에 반영되기까지 최대 지연)
+    private long refreshIntervalMillis = 1_000;
+
+    // 한 번에 DB 에서 읽어 인덱싱할 회원 수
+    private int batchSize = 500;
+
+    // 기동 시 전체 재색인 (ddl-auto: create 라 DB 가 매번 새로 만들어진다), 기존 인덱스 파일은 열 때 비운다.
+    private boolean rebuildOnStartup = true;
+}
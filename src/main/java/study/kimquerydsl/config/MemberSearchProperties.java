@@ -0,0 +1,50 @@
+package study.kimquerydsl.config;
+
+import java.util.HashMap;
+import java.util.Map;
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * 회원 검색 보호 설정 (member.search.*)
+ */
+@Getter
+@Setter
+@Component
+@ConfigurationProperties(prefix = "member.search")
+public class MemberSearchProperties {
+
+    // JPA 표준 쿼리 타임아웃 힌트 (밀리초)
+    public static final String QUERY_TIMEOUT_HINT = "jakarta.persistence.query.timeout";
+
+    // /v1/members 한 번에 List 로 반환할 최대 건수
+    private int maxRows = 10_000;
+
+    // 최대 건수 초과 시 동작
+    private OverLimit overLimit = OverLimit.STREAM;
+
+    // 스트리밍 조회 시 JDBC fetch size
+    private int streamFetchSize = 500;
+
+    // /v3/members 동시에 들어온 같은 요청은 한 번만 실행 (MemberSearchCoalescer)
+    private boolean coalesce = true;
+
+    // findAllById(multi-load) 에서 한 번에 조회할 id 수
+    private int multiLoadBatchSize = 100;
+
+    // 리포지토리 메서드별 쿼리 타임아웃(ms), 없으면 defaultQueryTimeoutMillis
+    // ex) member.search.query-timeout-millis.[searchPageComplex]=3000
+    private long defaultQueryTimeoutMillis = 5_000;
+    private Map<String, Long> queryTimeoutMillis = new HashMap<>();
+
+    public long queryTimeout(String method) {
+        return queryTimeoutMillis.getOrDefault(method, defaultQueryTimeoutMillis);
+    }
+
+    public enum OverLimit {
+        REJECT, // 400 응답
+        STREAM  // 스트리밍 응답으로 전환
+    }
+}
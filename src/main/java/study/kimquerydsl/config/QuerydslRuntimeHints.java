@@ -0,0 +1,38 @@
+package study.kimquerydsl.config;
+
+import org.springframework.aot.hint.MemberCategory;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.RuntimeHintsRegistrar;
+import study.kimquerydsl.dto.MemberDto;
+import study.kimquerydsl.dto.MemberTeamDto;
+import study.kimquerydsl.dto.MemberTeamRow;
+import study.kimquerydsl.dto.QMemberDto;
+import study.kimquerydsl.dto.QMemberTeamDto;
+import study.kimquerydsl.dto.UserDto;
+import study.kimquerydsl.entity.QHello;
+import study.kimquerydsl.entity.QMember;
+import study.kimquerydsl.entity.QTeam;
+import study.kimquerydsl.entity.QTeamMemberCount;
+
+/**
+ * AOT 처리 시 Querydsl 이 리플렉션으로 접근하는 타입 힌트
+ * - Q타입: PathBuilder / SimpleEntityPathResolver 가 static 필드(member, team...)를 읽는다.
+ * - DTO: Projections.bean / fields / constructor 가 setter, 필드, 생성자를 리플렉션으로 사용한다.
+ */
+public class QuerydslRuntimeHints implements RuntimeHintsRegistrar {
+
+    @Override
+    public void registerHints(RuntimeHints hints, ClassLoader classLoader) {
+        for (Class<?> type : new Class<?>[]{QMember.class, QTeam.class, QTeamMemberCount.class, QHello.class,
+            QMemberDto.class, QMemberTeamDto.class}) {
+            hints.reflection().registerType(type,
+                MemberCategory.PUBLIC_FIELDS, MemberCategory.INVOKE_PUBLIC_CONSTRUCTORS);
+        }
+
+        for (Class<?> type : new Class<?>[]{MemberDto.class, MemberTeamDto.class, MemberTeamRow.class, UserDto.class}) {
+            hints.reflection().registerType(type,
+                MemberCategory.DECLARED_FIELDS, MemberCategory.INVOKE_DECLARED_CONSTRUCTORS,
+                MemberCategory.INVOKE_PUBLIC_METHODS);
+        }
+    }
+}
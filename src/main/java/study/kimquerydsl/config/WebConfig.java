@@ -0,0 +1,43 @@
+package study.kimquerydsl.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.util.List;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+import study.kimquerydsl.web.ConcurrencyLimitInterceptor;
+import study.kimquerydsl.web.MemberTeamPageBinaryConverter;
+import study.kimquerydsl.web.MemberTeamPageColumnarConverter;
+
+@Configuration
+@RequiredArgsConstructor
+public class WebConfig implements WebMvcConfigurer {
+
+    private final ObjectMapper objectMapper;
+    private final ConcurrencyLimitProperties concurrencyLimitProperties;
+
+    // Accept 헤더로 선택하는 압축 응답 포맷. Accept 가 없거나 */* 면 기본 JSON 이 나가도록 맨 뒤에 추가한다.
+    // (맨 앞에 두면 */* 요청에 압축 포맷이 선택된다. 그래서 미디어 타입이 Jackson 과 겹치지 않게 한다)
+    @Override
+    public void extendMessageConverters(List<HttpMessageConverter<?>> converters) {
+        converters.add(new MemberTeamPageColumnarConverter(objectMapper.getFactory()));
+        converters.add(new MemberTeamPageBinaryConverter());
+    }
+
+    @Bean
+    public ConcurrencyLimitInterceptor concurrencyLimitInterceptor() {
+        return new ConcurrencyLimitInterceptor(concurrencyLimitProperties);
+    }
+
+    // AOT 처리 후에도 설정으로 끌 수 있도록 @Conditional 대신 등록 시점에 확인
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        if (concurrencyLimitProperties.isEnabled()) {
+            registry.addInterceptor(concurrencyLimitInterceptor())
+                .addPathPatterns(concurrencyLimitProperties.getEndpoints().keySet().toArray(String[]::new));
+        }
+    }
+}
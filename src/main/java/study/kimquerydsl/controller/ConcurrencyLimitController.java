@@ -0,0 +1,20 @@
+package study.kimquerydsl.controller;
+
+import java.util.Map;
+import lombok.RequiredArgsConstructor;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RestController;
+import study.kimquerydsl.web.ConcurrencyLimitInterceptor;
+
+@RestController
+@RequiredArgsConstructor
+public class ConcurrencyLimitController {
+
+    private final ConcurrencyLimitInterceptor concurrencyLimitInterceptor;
+
+    // 엔드포인트별 현재 동시 처리 한도
+    @GetMapping("/v1/concurrency-limits")
+    public Map<String, Map<String, Object>> limits() {
+        return concurrencyLimitInterceptor.snapshot();
+    }
+}
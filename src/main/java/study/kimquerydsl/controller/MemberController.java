@@ -1,15 +1,36 @@
 package study.kimquerydsl.controller;
 
+import jakarta.servlet.http.HttpServletResponse;
+import java.io.IOException;
 import java.util.List;
+import java.util.Map;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.ResponseStatus;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.server.ResponseStatusException;
+import study.kimquerydsl.config.MemberSearchProperties;
+import study.kimquerydsl.config.MemberSearchProperties.OverLimit;
 import study.kimquerydsl.dto.MemberSearchCondition;
 import study.kimquerydsl.dto.MemberTeamDto;
+import study.kimquerydsl.dto.SearchCoalescingStats;
+import study.kimquerydsl.entity.Member;
+import study.kimquerydsl.entity.Team;
+import study.kimquerydsl.event.EntityVersionCounters;
 import study.kimquerydsl.repository.MemberJpaRepository;
 import study.kimquerydsl.repository.MemberRepository;
+import study.kimquerydsl.repository.UnsupportedSortException;
+import study.kimquerydsl.service.MemberSearchCoalescer;
+import study.kimquerydsl.service.MemberStreamingService;
 
 @RestController
 @RequiredArgsConstructor
@@ -17,19 +38,114 @@ public class MemberController {
 
     private final MemberJpaRepository memberJpaRepository;
     private final MemberRepository memberRepository;
+    private final MemberStreamingService memberStreamingService;
+    private final MemberSearchCoalescer memberSearchCoalescer;
+    private final MemberSearchProperties searchProperties;
+    private final EntityVersionCounters versionCounters;
 
+    // 최대 건수(maxRows) 초과 시 거절하거나 스트리밍 응답으로 전환
     @GetMapping("/v1/members")
-    public List<MemberTeamDto> searchMemberV1(MemberSearchCondition condition) {
-        return memberJpaRepository.search(condition);
+    public List<MemberTeamDto> searchMemberV1(MemberSearchCondition condition, WebRequest webRequest,
+        HttpServletResponse response) throws IOException {
+        if (notModified(webRequest)) {
+            return null;
+        }
+
+        int maxRows = searchProperties.getMaxRows();
+        List<MemberTeamDto> result = memberJpaRepository.search(condition, maxRows + 1);
+        if (result.size() <= maxRows) {
+            return result;
+        }
+
+        if (searchProperties.getOverLimit() == OverLimit.REJECT) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                "조회 결과가 최대 " + maxRows + "건을 초과합니다. /v2, /v3 페이징 API 를 사용하세요.");
+        }
+        // 응답에 직접 쓰고 null 을 반환하면 메시지 컨버터는 본문을 쓰지 않는다.
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        memberStreamingService.search(condition, response.getOutputStream());
+        return null;
+    }
+
+    // 건수와 상관없이 항상 스트리밍 (JDBC 커서 -> JSON)
+    @GetMapping("/v1/members/stream")
+    public void streamMembers(MemberSearchCondition condition, WebRequest webRequest,
+        HttpServletResponse response) throws IOException {
+        if (notModified(webRequest)) {
+            return;
+        }
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        memberStreamingService.search(condition, response.getOutputStream());
     }
 
     @GetMapping("/v2/members")
-    public Page<MemberTeamDto> searchMemberV2(MemberSearchCondition condition, Pageable pageable) {
+    public Page<MemberTeamDto> searchMemberV2(MemberSearchCondition condition, Pageable pageable,
+        WebRequest webRequest) {
+        if (notModified(webRequest)) {
+            return null;
+        }
         return memberRepository.searchPageSimple(condition, pageable);
     }
 
     @GetMapping("/v3/members")
-    public Page<MemberTeamDto> searchMemberV3(MemberSearchCondition condition, Pageable pageable) {
-        return memberRepository.searchPageComplex(condition, pageable);
+    public Page<MemberTeamDto> searchMemberV3(MemberSearchCondition condition, Pageable pageable,
+        WebRequest webRequest) {
+        if (notModified(webRequest)) {
+            return null;
+        }
+        return memberSearchCoalescer.searchPageComplex(condition, pageable);
+    }
+
+    // /v3 요청 합치기 통계
+    @GetMapping("/v3/members/coalescing")
+    public SearchCoalescingStats coalescingStats() {
+        return memberSearchCoalescer.stats();
+    }
+
+    @DeleteMapping("/v3/members/coalescing")
+    public void resetCoalescingStats() {
+        memberSearchCoalescer.resetStats();
+    }
+
+    // team 조인 없이 비정규화된 팀 이름 사용 (teamName 정렬 지원)
+    @GetMapping("/v4/members")
+    public Page<MemberTeamDto> searchMemberV4(MemberSearchCondition condition, Pageable pageable,
+        WebRequest webRequest) {
+        if (notModified(webRequest)) {
+            return null;
+        }
+        return memberRepository.searchPageNoJoin(condition, pageable);
+    }
+
+    // 팀별 회원 목록 (팀 단위로 스트리밍)
+    @GetMapping("/v1/teams/members")
+    public void searchTeamMembers(MemberSearchCondition condition, WebRequest webRequest,
+        HttpServletResponse response) throws IOException {
+        if (notModified(webRequest)) {
+            return;
+        }
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        memberStreamingService.teamMembers(condition, response.getOutputStream());
+    }
+
+    // 정렬할 수 없는 속성 (최대 건수 초과는 ResponseStatusException 으로 400)
+    // 그 밖의 IllegalArgumentException 은 서버 오류로 남도록 여기서 잡지 않는다.
+    @ExceptionHandler(UnsupportedSortException.class)
+    @ResponseStatus(HttpStatus.BAD_REQUEST)
+    public Map<String, String> badRequest(UnsupportedSortException e) {
+        return Map.of("message", e.getMessage());
+    }
+
+    /**
+     * Member, Team 변경 카운터로 만든 ETag 가 If-None-Match 와 같으면 쿼리 없이 304 응답
+     * (같은 URL 이면 카운터가 그대로인 동안 결과도 같다. Accept 별 표현은 약한 ETag 로 같은 것으로 본다.)
+     * Accept 에 따라 JSON/컬럼형/바이너리로 본문이 달라지므로 Vary: Accept 로 캐시가 표현별로 따로 저장하게 한다.
+     */
+    private boolean notModified(WebRequest webRequest) {
+        HttpServletResponse response = ((ServletWebRequest) webRequest).getResponse();
+        if (response != null) {
+            response.addHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT);
+        }
+        return webRequest.checkNotModified(versionCounters.etag(Member.class, Team.class));
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,42 @@
+package study.kimquerydsl.controller;
+
+import java.net.URI;
+import java.util.Map;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.ResponseStatus;
+import org.springframework.web.bind.annotation.RestController;
+import study.kimquerydsl.dto.MemberExportProgress;
+import study.kimquerydsl.service.MemberExportService;
+
+@RestController
+@RequiredArgsConstructor
+public class MemberExportController {
+
+    private static final String PROGRESS_PATH = "/v1/members/export/progress";
+
+    private final MemberExportService memberExportService;
+
+    // 백그라운드로 시작하고 바로 202 반환. 진행 상황과 끝난 뒤 manifest 는 Location(/v1/members/export/progress)으로 확인
+    @PostMapping("/v1/members/export")
+    public ResponseEntity<MemberExportProgress> export() {
+        return ResponseEntity.accepted()
+            .location(URI.create(PROGRESS_PATH))
+            .body(memberExportService.start());
+    }
+
+    @GetMapping(PROGRESS_PATH)
+    public MemberExportProgress progress() {
+        return memberExportService.progress();
+    }
+
+    @ExceptionHandler(IllegalStateException.class)
+    @ResponseStatus(HttpStatus.CONFLICT)
+    public Map<String, String> conflict(IllegalStateException e) {
+        return Map.of("message", e.getMessage());
+    }
+}
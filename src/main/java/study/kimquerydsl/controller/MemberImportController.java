@@ -0,0 +1,22 @@
+package study.kimquerydsl.controller;
+
+import java.io.IOException;
+import java.io.InputStream;
+import lombok.RequiredArgsConstructor;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RestController;
+import study.kimquerydsl.dto.MemberImportResult;
+import study.kimquerydsl.service.MemberImportService;
+
+@RestController
+@RequiredArgsConstructor
+public class MemberImportController {
+
+    private final MemberImportService memberImportService;
+
+    // 요청 본문을 스트림으로 그대로 넘긴다. (multipart 처럼 파일 전체를 버퍼링하지 않음)
+    @PostMapping(value = "/v1/members/import", consumes = {"text/csv", "text/plain"})
+    public MemberImportResult importMembers(InputStream body) throws IOException {
+        return memberImportService.importCsv(body);
+    }
+}
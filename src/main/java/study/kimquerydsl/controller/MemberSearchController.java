@@ -0,0 +1,34 @@
+package study.kimquerydsl.controller;
+
+import java.util.List;
+import lombok.RequiredArgsConstructor;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import study.kimquerydsl.dto.MemberIndexRebuildResult;
+import study.kimquerydsl.dto.MemberTeamDto;
+import study.kimquerydsl.repository.MemberRepository;
+import study.kimquerydsl.search.MemberSearchIndex;
+
+@RestController
+@RequiredArgsConstructor
+public class MemberSearchController {
+
+    private static final int MAX_LIMIT = 100;
+
+    private final MemberRepository memberRepository;
+    private final MemberSearchIndex memberSearchIndex;
+
+    // 회원명, 팀명 전문 검색 (관련도 순, 오타 허용) ex) /v1/members/search?q=membr+teamA
+    @GetMapping("/v1/members/search")
+    public List<MemberTeamDto> search(@RequestParam String q, @RequestParam(defaultValue = "20") int limit) {
+        return memberRepository.searchFullText(q, Math.max(1, Math.min(limit, MAX_LIMIT)));
+    }
+
+    // 전체 재색인, 처리량(documentsPerSecond)을 함께 반환
+    @PostMapping("/v1/members/search/rebuild")
+    public MemberIndexRebuildResult rebuild() {
+        return memberSearchIndex.rebuild();
+    }
+}
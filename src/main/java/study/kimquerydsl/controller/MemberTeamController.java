@@ -0,0 +1,57 @@
+package study.kimquerydsl.controller;
+
+import java.util.Map;
+import lombok.RequiredArgsConstructor;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.PatchMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.PutMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.ResponseStatus;
+import org.springframework.web.bind.annotation.RestController;
+import study.kimquerydsl.dto.MemberTeamReassignRequest;
+import study.kimquerydsl.service.MemberTeamService;
+
+@RestController
+@RequiredArgsConstructor
+public class MemberTeamController {
+
+    private final MemberTeamService memberTeamService;
+
+    @PostMapping("/v1/members/team")
+    public Map<String, Long> reassignTeam(@RequestBody MemberTeamReassignRequest request) {
+        return Map.of("updated", memberTeamService.reassignTeam(request));
+    }
+
+    @PutMapping("/v1/members/{memberId}/team/{teamId}")
+    public Map<String, Boolean> joinTeam(@PathVariable Long memberId, @PathVariable Long teamId) {
+        return Map.of("moved", memberTeamService.joinTeam(memberId, teamId));
+    }
+
+    @PatchMapping("/v1/teams/{teamId}")
+    public Map<String, Long> renameTeam(@PathVariable Long teamId, @RequestParam String name) {
+        return Map.of("updated", memberTeamService.renameTeam(teamId, name));
+    }
+
+    // 팀별 회원 수 테이블 재계산 (관리용)
+    @PostMapping("/v1/teams/member-counts/rebuild")
+    public Map<String, Integer> rebuildMemberCounts() {
+        return Map.of("teams", memberTeamService.rebuildMemberCounts());
+    }
+
+    @ExceptionHandler(IllegalArgumentException.class)
+    @ResponseStatus(HttpStatus.BAD_REQUEST)
+    public Map<String, String> badRequest(IllegalArgumentException e) {
+        return Map.of("message", e.getMessage());
+    }
+
+    @ExceptionHandler(OptimisticLockingFailureException.class)
+    @ResponseStatus(HttpStatus.CONFLICT)
+    public Map<String, String> conflict(OptimisticLockingFailureException e) {
+        return Map.of("message", e.getMessage());
+    }
+}
@@ -0,0 +1,44 @@
+package study.kimquerydsl.controller;
+
+import java.util.Arrays;
+import java.util.List;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ResponseStatusException;
+import study.kimquerydsl.dto.SqlStatsSnapshot;
+import study.kimquerydsl.monitor.SqlStatsListener;
+import study.kimquerydsl.monitor.SqlStatsListener.SortBy;
+
+@RestController
+@RequiredArgsConstructor
+public class SqlStatsController {
+
+    private final SqlStatsListener sqlStatsListener;
+
+    // SQL 지문별 상위 N 개 ex) /v1/sql-stats?top=10&sort=total (total, count, avg, max, p99)
+    @GetMapping("/v1/sql-stats")
+    public List<SqlStatsSnapshot> top(@RequestParam(defaultValue = "10") int top,
+        @RequestParam(defaultValue = "total") String sort) {
+        return sqlStatsListener.top(top, sortBy(sort));
+    }
+
+    @DeleteMapping("/v1/sql-stats")
+    public void reset() {
+        sqlStatsListener.reset();
+    }
+
+    // 대소문자 구분 없이, 없는 정렬 기준은 400
+    private SortBy sortBy(String sort) {
+        for (SortBy sortBy : SortBy.values()) {
+            if (sortBy.name().equalsIgnoreCase(sort)) {
+                return sortBy;
+            }
+        }
+        throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+            "정렬 기준은 " + Arrays.toString(SortBy.values()).toLowerCase() + " 중 하나입니다: " + sort);
+    }
+}
@@ -0,0 +1,180 @@
+package study.kimquerydsl.dataset;
+
+import jakarta.persistence.EntityManagerFactory;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.StatelessSession;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.id.IdentifierGenerator;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+import study.kimquerydsl.entity.Member;
+import study.kimquerydsl.entity.Team;
+import study.kimquerydsl.event.CacheInvalidationBus;
+import study.kimquerydsl.event.EntityVersionCounters;
+import study.kimquerydsl.repository.TeamMemberCountRepository;
+import study.kimquerydsl.search.MemberSearchIndex;
+
+/**
+ * 합성 데이터 적재
+ * - 팀: dataset-team{n}, 회원: dataset-member{n}, Zipf 분포로 팀 배정 (dataset-team0 이 가장 크다), 정규분포 나이
+ * - 회원명은 유일해야 하므로 샘플 데이터(InitMember 의 member{n})와 겹치지 않는 접두사를 쓰고, 적재는 한 번만 한다.
+ * - 회원은 batchSize 단위로 나눠 parallelism 개 스레드에서 JDBC batch insert 한다.
+ * - id 는 하이버네이트 시퀀스 생성기로 미리 할당해서(이후 persist 와 겹치지 않는다) 배치 순서대로 나눠 주고,
+ *   배치마다 (seed, 배치 번호)로 난수를 만들므로 실행 순서와 상관없이 결과가 같다.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class DatasetGenerator {
+
+    public static final String TEAM_NAME_PREFIX = "dataset-team";
+    public static final String USERNAME_PREFIX = "dataset-member";
+    static final String INSERT_TEAM_SQL = "insert into team (team_id, name) values (?, ?)";
+    static final String INSERT_MEMBER_SQL =
+        "insert into member (member_id, username, age, team_id, team_name) values (?, ?, ?, ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final EntityManagerFactory entityManagerFactory;
+    private final TransactionTemplate transactionTemplate;
+    private final TeamMemberCountRepository teamMemberCountRepository;
+    private final CacheInvalidationBus invalidationBus;
+    private final EntityVersionCounters versionCounters;
+    private final MemberSearchIndex memberSearchIndex;
+
+    /**
+     * @return 적재한 회원 수
+     */
+    public long generate(DatasetProperties properties) {
+        long start = System.nanoTime();
+        long[] teamIds = allocateIds(Team.class, properties.getTeams());
+        long[] memberIds = allocateIds(Member.class, properties.getMembers());
+
+        List<Object[]> teams = new ArrayList<>();
+        for (int i = 0; i < properties.getTeams(); i++) {
+            teams.add(new Object[]{teamIds[i], TEAM_NAME_PREFIX + i});
+        }
+        transactionTemplate.executeWithoutResult(status -> jdbcTemplate.batchUpdate(INSERT_TEAM_SQL, teams));
+
+        double[] teamCdf = zipfCdf(properties.getTeams(), properties.getZipfExponent());
+        int batches = (properties.getMembers() + properties.getBatchSize() - 1) / properties.getBatchSize();
+        ExecutorService executor = Executors.newFixedThreadPool(Math.max(1, properties.getParallelism()));
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int batch = 0; batch < batches; batch++) {
+                int batchNo = batch;
+                futures.add(executor.submit(() ->
+                    insertMembers(properties, batchNo, teamCdf, teamIds, memberIds)));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("데이터 적재 실패", e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("데이터 적재 중단", e);
+        } finally {
+            executor.shutdownNow();
+        }
+
+        // JDBC 적재는 하이버네이트 이벤트가 없으므로 팀별 회원 수, ETag 를 직접 갱신하고 검색 인덱스는 전체 재색인
+        // 버스 메시지는 자기 노드에서는 무시되므로(LocalCacheInvalidator) 이 노드의 카운터는 직접 올린다.
+        teamMemberCountRepository.rebuild();
+        versionCounters.increment(Team.class);
+        versionCounters.increment(Member.class);
+        invalidationBus.publish(Team.class, null);
+        invalidationBus.publish(Member.class, null);
+        memberSearchIndex.requestRebuild();
+
+        long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+        log.info("dataset loaded. teams={}, members={}, elapsedMillis={}, membersPerSecond={}",
+            properties.getTeams(), properties.getMembers(), elapsedMillis,
+            elapsedMillis == 0 ? properties.getMembers() : properties.getMembers() * 1000L / elapsedMillis);
+        return properties.getMembers();
+    }
+
+    private void insertMembers(DatasetProperties properties, int batchNo, double[] teamCdf,
+        long[] teamIds, long[] memberIds) {
+        SplittableRandom random = new SplittableRandom(mix(properties.getSeed(), batchNo));
+        int from = batchNo * properties.getBatchSize();
+        int to = Math.min(from + properties.getBatchSize(), properties.getMembers());
+
+        List<Object[]> rows = new ArrayList<>(to - from);
+        for (int i = from; i < to; i++) {
+            int teamNo = sample(teamCdf, random.nextDouble());
+            rows.add(new Object[]{memberIds[i], USERNAME_PREFIX + i, age(properties, random),
+                teamIds[teamNo], TEAM_NAME_PREFIX + teamNo});
+        }
+        transactionTemplate.executeWithoutResult(status -> jdbcTemplate.batchUpdate(INSERT_MEMBER_SQL, rows));
+    }
+
+    private int age(DatasetProperties properties, SplittableRandom random) {
+        long age = Math.round(properties.getAgeMean() + properties.getAgeStddev() * random.nextGaussian());
+        return (int) Math.max(properties.getAgeMin(), Math.min(properties.getAgeMax(), age));
+    }
+
+    // 누적 분포
+    static double[] zipfCdf(int size, double exponent) {
+        double[] cdf = new double[size];
+        double sum = 0;
+        for (int k = 0; k < size; k++) {
+            sum += 1 / Math.pow(k + 1, exponent);
+            cdf[k] = sum;
+        }
+        for (int k = 0; k < size; k++) {
+            cdf[k] /= sum;
+        }
+        return cdf;
+    }
+
+    static int sample(double[] cdf, double uniform) {
+        int low = 0;
+        int high = cdf.length - 1;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (cdf[mid] < uniform) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    // seed 와 배치 번호로 배치별 독립 난수 seed (SplitMix64)
+    private static long mix(long seed, long batchNo) {
+        long z = seed + (batchNo + 1) * 0x9E3779B97F4A7C15L;
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+
+    // 엔티티의 식별자 생성기(시퀀스 + pooled 옵티마이저)에서 count 개를 받는다. (오름차순)
+    // 시퀀스를 직접 옮기면 다른 세션/노드가 이미 받아 둔 id 블록과 겹칠 수 있으므로 생성기를 거친다.
+    private long[] allocateIds(Class<?> entityType, int count) {
+        SessionFactoryImplementor sessionFactory = entityManagerFactory.unwrap(SessionFactoryImplementor.class);
+        IdentifierGenerator idGenerator = sessionFactory.getMappingMetamodel()
+            .getEntityDescriptor(entityType)
+            .getIdentifierGenerator();
+
+        long[] ids = new long[count];
+        try (StatelessSession session = sessionFactory.openStatelessSession()) {
+            SharedSessionContractImplementor implementor = (SharedSessionContractImplementor) session;
+            for (int i = 0; i < count; i++) {
+                ids[i] = (Long) idGenerator.generate(implementor, null);
+            }
+        }
+        return ids;
+    }
+}
@@ -0,0 +1,25 @@
+package study.kimquerydsl.dataset;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+
+/**
+ * 대용량 합성 데이터 적재 프로파일
+ * ex) --spring.profiles.active=dataset --dataset.members=1000000 --dataset.teams=1000 --dataset.zipf-exponent=1.2
+ */
+@Profile("dataset")
+@Component
+@RequiredArgsConstructor
+public class DatasetLoader implements ApplicationRunner {
+
+    private final DatasetGenerator datasetGenerator;
+    private final DatasetProperties datasetProperties;
+
+    @Override
+    public void run(ApplicationArguments args) {
+        datasetGenerator.generate(datasetProperties);
+    }
+}
@@ -0,0 +1,34 @@
+package study.kimquerydsl.dataset;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * 대용량 합성 데이터 설정 (dataset.*), dataset 프로파일에서 기동 시 적재
+ */
+@Getter
+@Setter
+@Component
+@ConfigurationProperties(prefix = "dataset")
+public class DatasetProperties {
+
+    private int members = 100_000;
+    private int teams = 100;
+
+    // 팀 크기 분포: k 번째 팀 가중치 = 1 / k^zipfExponent (0 이면 균등)
+    private double zipfExponent = 1.0;
+
+    // 나이: 정규분포(ageMean, ageStddev)를 [ageMin, ageMax] 로 자른다.
+    private int ageMin = 10;
+    private int ageMax = 80;
+    private double ageMean = 35;
+    private double ageStddev = 12;
+
+    // 같은 seed 면 병렬 적재 순서와 상관없이 같은 데이터
+    private long seed = 42;
+
+    private int batchSize = 5_000;
+    private int parallelism = 4;
+}
@@ -0,0 +1,31 @@
+package study.kimquerydsl.dto;
+
+import java.util.ArrayList;
+import java.util.List;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+public class MemberExportManifest {// 회원 내보내기 결과 (manifest.json)
+
+    private String format = "csv+gzip"; // member_id,username,age,team_id,team_name
+    private String startedAt;
+    private long elapsedMillis;
+    private long totalRows;
+    private double rowsPerSecond;
+    private List<Part> parts = new ArrayList<>();
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Part {
+
+        private String file;
+        private long fromId;    // 포함
+        private long toId;      // 제외
+        private long rows;
+        private long bytes;
+        private String crc32;   // 압축 파일 기준
+    }
+}
@@ -0,0 +1,20 @@
+package study.kimquerydsl.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+@Data
+@AllArgsConstructor
+public class MemberExportProgress {
+
+    private boolean running;
+    private int totalPartitions;
+    private int completedPartitions;
+    private long exportedRows;
+    private long elapsedMillis;
+    private double rowsPerSecond;
+    // 마지막 내보내기 결과 (진행 중이면 null)
+    private MemberExportManifest manifest;
+    // 마지막 내보내기가 실패했으면 그 메시지
+    private String error;
+}
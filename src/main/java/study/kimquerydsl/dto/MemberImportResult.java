@@ -0,0 +1,38 @@
+package study.kimquerydsl.dto;
+
+import java.util.ArrayList;
+import java.util.List;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+@Data
+public class MemberImportResult {// CSV 회원 가져오기 결과 (배치별 소요 시간, 오류 행)
+
+    private long totalRows;
+    private long insertedRows;
+    private long updatedRows;
+    private long errorRows;
+    private List<BatchReport> batches = new ArrayList<>();
+    private List<ErrorRow> errors = new ArrayList<>();
+
+    @Data
+    @AllArgsConstructor
+    public static class BatchReport {
+
+        private int batchNo;
+        private int rows;
+        private int inserted;
+        private int updated;
+        private long elapsedMillis;
+        private String error;
+    }
+
+    @Data
+    @AllArgsConstructor
+    public static class ErrorRow {
+
+        private long line;
+        private String content;
+        private String message;
+    }
+}
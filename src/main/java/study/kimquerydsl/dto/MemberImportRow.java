@@ -0,0 +1,20 @@
+package study.kimquerydsl.dto;
+
+import lombok.Data;
+
+@Data
+public class MemberImportRow {// CSV 회원 가져오기 한 줄
+
+    private long line;
+    private String username;
+    private int age;
+    private String teamName;
+    private Long teamId;
+
+    public MemberImportRow(long line, String username, int age, String teamName) {
+        this.line = line;
+        this.username = username;
+        this.age = age;
+        this.teamName = teamName;
+    }
+}
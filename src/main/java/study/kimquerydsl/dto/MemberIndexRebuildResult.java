@@ -0,0 +1,17 @@
+package study.kimquerydsl.dto;
+
+import lombok.Data;
+
+@Data
+public class MemberIndexRebuildResult {
+
+    private long documents;
+    private long elapsedMillis;
+    private double documentsPerSecond;
+
+    public MemberIndexRebuildResult(long documents, long elapsedMillis) {
+        this.documents = documents;
+        this.elapsedMillis = elapsedMillis;
+        this.documentsPerSecond = elapsedMillis == 0 ? documents : documents * 1000.0 / elapsedMillis;
+    }
+}
@@ -0,0 +1,12 @@
+package study.kimquerydsl.dto;
+
+import java.util.List;
+import lombok.Data;
+
+@Data
+public class MemberTeamReassignRequest {// 회원 일괄 팀 이동 요청 (memberIds 또는 condition 중 하나)
+
+    private Long targetTeamId;
+    private List<Long> memberIds;
+    private MemberSearchCondition condition;
+}
@@ -0,0 +1,8 @@
+package study.kimquerydsl.dto;
+
+/**
+ * 스트리밍 응답용 회원 + 팀 행 (MemberTeamDto 와 같은 JSON 모양)
+ * 커서에서 한 행을 읽어서 바로 쓰고 버리는 값이므로 불변 record 로 둔다. (MemberJpaRepository.searchStream)
+ */
+public record MemberTeamRow(Long memberId, String username, int age, Long teamId, String teamName) {
+}
@@ -0,0 +1,15 @@
+package study.kimquerydsl.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+@Data
+@AllArgsConstructor
+public class SearchCoalescingStats {
+
+    private boolean enabled;
+    private long executions; // 실제로 쿼리를 실행한 요청 수
+    private long coalesced;  // 실행 중인 같은 요청의 결과를 받아서 쿼리를 생략한 요청 수
+    private int inFlight;
+    private double savedRatio; // coalesced / (executions + coalesced)
+}
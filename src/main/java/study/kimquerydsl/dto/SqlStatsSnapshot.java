@@ -0,0 +1,17 @@
+package study.kimquerydsl.dto;
+
+import lombok.Data;
+
+@Data
+public class SqlStatsSnapshot {
+
+    private String fingerprint;
+    private long count;
+    private long errors;
+    private double totalMillis;
+    private double avgMillis;
+    private double maxMillis;
+    private double p50Millis;
+    private double p95Millis;
+    private double p99Millis;
+}
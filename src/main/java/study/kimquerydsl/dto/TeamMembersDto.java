@@ -0,0 +1,18 @@
+package study.kimquerydsl.dto;
+
+import java.util.ArrayList;
+import java.util.List;
+import lombok.Data;
+
+@Data
+public class TeamMembersDto {
+
+    private Long teamId;
+    private String teamName;
+    private List<MemberDto> members = new ArrayList<>();
+
+    public TeamMembersDto(Long teamId, String teamName) {
+        this.teamId = teamId;
+        this.teamName = teamName;
+    }
+}
@@ -7,6 +7,10 @@ import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.Id;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
+import jakarta.persistence.NamedAttributeNode;
+import jakarta.persistence.NamedEntityGraph;
+import jakarta.persistence.Table;
+import jakarta.persistence.UniqueConstraint;
 import lombok.AccessLevel;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
@@ -18,8 +22,15 @@ import lombok.ToString;
 @Setter
 @NoArgsConstructor(access = AccessLevel.PROTECTED)
 @ToString(of = {"id", "username", "age"})
+@NamedEntityGraph(name = Member.GRAPH_TEAM, attributeNodes = @NamedAttributeNode("team"))
+// 회원명은 유일하다. (CSV 가져오기가 username 기준으로 upsert 한다)
+@Table(uniqueConstraints = @UniqueConstraint(name = Member.UK_USERNAME, columnNames = "username"))
 public class Member {
 
+    // 팀까지 함께 조회하는 fetch plan (em.getEntityGraph(Member.GRAPH_TEAM))
+    public static final String GRAPH_TEAM = "Member.team";
+    public static final String UK_USERNAME = "uk_member_username";
+
     @Id
     @GeneratedValue
     @Column(name = "member_id")
@@ -27,10 +38,18 @@ public class Member {
     private String username;
     private int age;
 
+    // team, teamName 은 항상 같이 바뀌어야 하므로 setter 를 열지 않는다. (changeTeam, assignTeam)
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "team_id")
+    @Setter(AccessLevel.NONE)
     private Team team;
 
+    // 검색 시 team 조인을 없애기 위한 비정규화 컬럼 (team.name 복사본)
+    // changeTeam(), 팀 이름 변경 시 벌크 update 로 동기화한다.
+    @Column(name = "team_name")
+    @Setter(AccessLevel.NONE)
+    private String teamName;
+
     public Member(String username) {
         this(username, 0);
     }
@@ -48,7 +67,13 @@ public class Member {
     }
 
     public void changeTeam(Team team) {
-        this.team = team;
+        assignTeam(team);
         team.getMembers().add(this);
     }
+
+    // Team.members 컬렉션을 건드리지 않고 연관관계와 팀 이름만 설정 (대량 적재용)
+    public void assignTeam(Team team) {
+        this.team = team;
+        this.teamName = team.getName();
+    }
 }
\ No newline at end of file
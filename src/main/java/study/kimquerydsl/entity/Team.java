@@ -5,25 +5,30 @@ import jakarta.persistence.Entity;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.Id;
 import jakarta.persistence.OneToMany;
+import jakarta.persistence.Table;
+import jakarta.persistence.UniqueConstraint;
 import java.util.ArrayList;
 import java.util.List;
 import lombok.AccessLevel;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
-import lombok.Setter;
 import lombok.ToString;
 
 @Entity
 @Getter
-@Setter
 @NoArgsConstructor(access = AccessLevel.PROTECTED)
 @ToString(of = {"id", "name"})
+// 팀명은 유일하다. (CSV 가져오기가 팀명으로 팀을 찾거나 만든다)
+@Table(uniqueConstraints = @UniqueConstraint(name = Team.UK_NAME, columnNames = "name"))
 public class Team {
 
+    public static final String UK_NAME = "uk_team_name";
+
     @Id
     @GeneratedValue
     @Column(name = "team_id")
     private Long id;
+    // 회원(member.team_name)에 비정규화되어 있으므로 MemberBulkRepository.renameTeam 으로만 바꾼다.
     private String name;
 
     @OneToMany(mappedBy = "team")
@@ -0,0 +1,48 @@
+package study.kimquerydsl.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.IdClass;
+import java.io.Serializable;
+import lombok.AccessLevel;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.ToString;
+
+/**
+ * 팀별 회원 수 (카운트 쿼리 대체용). 회원 insert/delete/팀 변경 시 같은 트랜잭션에서 갱신된다.
+ * 팀이 없는 회원은 teamId = 0 으로 센다.
+ * 한 팀에 가입이 몰려도 한 행의 락을 기다리지 않도록 팀마다 STRIPES 개의 행(slot)에 나눠 더하고, 읽을 때 합한다.
+ */
+@Entity
+@IdClass(TeamMemberCount.Key.class)
+@Getter
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+@ToString
+public class TeamMemberCount {
+
+    public static final Long NO_TEAM = 0L;
+    public static final int STRIPES = 16;
+
+    @Id
+    @Column(name = "team_id")
+    private Long teamId;
+    @Id
+    private int slot;
+    private long memberCount;
+
+    // 같은 스레드(트랜잭션)는 항상 같은 slot 에 쓰고, 동시에 도는 다른 스레드는 대부분 다른 slot 에 쓴다.
+    public static int currentSlot() {
+        return (int) (Thread.currentThread().getId() % STRIPES);
+    }
+
+    @Getter
+    @EqualsAndHashCode
+    @NoArgsConstructor(access = AccessLevel.PROTECTED)
+    public static class Key implements Serializable {
+        private Long teamId;
+        private int slot;
+    }
+}
@@ -0,0 +1,19 @@
+package study.kimquerydsl.event;
+
+import lombok.Value;
+
+/**
+ * 캐시 무효화 메시지
+ * entityId 가 null 이면 해당 엔티티 타입 전체 (벌크 update 등)
+ */
+@Value
+public class CacheInvalidation {
+
+    String origin;      // 발행한 노드
+    String entityType;  // 엔티티 클래스 이름
+    Long entityId;
+
+    public boolean isFrom(String nodeId) {
+        return origin.equals(nodeId);
+    }
+}
@@ -0,0 +1,62 @@
+package study.kimquerydsl.event;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.function.Consumer;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * 노드 간 캐시 무효화 버스
+ * 발행한 메시지는 자기 노드를 포함한 모든 노드의 구독자에게 전달된다.
+ */
+public interface CacheInvalidationBus extends AutoCloseable {
+
+    String nodeId();
+
+    // entityId 가 null 이면 타입 전체 무효화
+    void publish(Class<?> entityType, Long entityId);
+
+    void subscribe(Consumer<CacheInvalidation> subscriber);
+
+    // 하이버네이트 이벤트를 거치지 않는 벌크 update, JDBC 쓰기용. 트랜잭션이 있으면 커밋 후 발행한다.
+    default void publishAfterCommit(Class<?> entityType) {
+        publishAfterCommit(entityType, null);
+    }
+
+    default void publishAfterCommit(Class<?> entityType, Long entityId) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            publish(entityType, entityId);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                publish(entityType, entityId);
+            }
+        });
+    }
+
+    // id 를 아는 벌크 쓰기용 - 타입 전체 무효화 대신 id 마다 발행 (구독자가 바뀐 것만 다시 읽는다)
+    default void publishAfterCommit(Class<?> entityType, Collection<Long> entityIds) {
+        if (entityIds.isEmpty()) {
+            return;
+        }
+        List<Long> ids = new ArrayList<>(entityIds);
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            ids.forEach(id -> publish(entityType, id));
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                ids.forEach(id -> publish(entityType, id));
+            }
+        });
+    }
+
+    @Override
+    default void close() {
+    }
+}
@@ -0,0 +1,61 @@
+package study.kimquerydsl.event;
+
+import lombok.RequiredArgsConstructor;
+import org.hibernate.event.spi.PostCommitDeleteEventListener;
+import org.hibernate.event.spi.PostCommitInsertEventListener;
+import org.hibernate.event.spi.PostCommitUpdateEventListener;
+import org.hibernate.event.spi.PostDeleteEvent;
+import org.hibernate.event.spi.PostInsertEvent;
+import org.hibernate.event.spi.PostUpdateEvent;
+import org.hibernate.persister.entity.EntityPersister;
+import org.springframework.stereotype.Component;
+import study.kimquerydsl.entity.Member;
+import study.kimquerydsl.entity.Team;
+
+/**
+ * 커밋된 Member, Team 변경을 캐시 무효화 버스로 발행한다.
+ */
+@Component
+@RequiredArgsConstructor
+public class CacheInvalidationEventListener implements PostCommitInsertEventListener,
+    PostCommitUpdateEventListener, PostCommitDeleteEventListener {
+
+    private final CacheInvalidationBus invalidationBus;
+
+    @Override
+    public void onPostInsert(PostInsertEvent event) {
+        publish(event.getPersister(), event.getId());
+    }
+
+    @Override
+    public void onPostUpdate(PostUpdateEvent event) {
+        publish(event.getPersister(), event.getId());
+    }
+
+    @Override
+    public void onPostDelete(PostDeleteEvent event) {
+        publish(event.getPersister(), event.getId());
+    }
+
+    private void publish(EntityPersister persister, Object id) {
+        invalidationBus.publish(persister.getMappedClass(), (Long) id);
+    }
+
+    @Override
+    public void onPostInsertCommitFailed(PostInsertEvent event) {
+    }
+
+    @Override
+    public void onPostUpdateCommitFailed(PostUpdateEvent event) {
+    }
+
+    @Override
+    public void onPostDeleteCommitFailed(PostDeleteEvent event) {
+    }
+
+    @Override
+    public boolean requiresPostCommitHandling(EntityPersister persister) {
+        Class<?> type = persister.getMappedClass();
+        return type == Member.class || type == Team.class;
+    }
+}
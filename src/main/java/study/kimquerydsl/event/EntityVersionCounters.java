@@ -0,0 +1,57 @@
+package study.kimquerydsl.event;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * 엔티티 타입별 변경 카운터. 커밋된 변경이 있을 때마다 증가한다.
+ * 검색 API 의 ETag 계산에 사용한다. (카운터가 같으면 결과도 같다)
+ * <p>
+ * 카운터는 노드(JVM)마다 따로 있다.
+ * - ETag 에 노드 기동 시각(epoch)이 들어가므로 다른 노드가 만든 ETag 와는 일치하지 않는다. (304 대신 200 으로 다시 받을 뿐 틀린 304 는 없다)
+ * - 다른 노드의 변경은 무효화 버스로 받아서 올린다. (LocalCacheInvalidator)
+ *   여러 노드로 띄울 때 LOOPBACK 버스를 쓰면 다른 노드의 변경을 모르므로 옛 결과에 304 가 나갈 수 있다. 여러 노드면 JDBC 버스를 쓴다.
+ */
+@Component
+public class EntityVersionCounters {
+
+    // 재시작 후 카운터가 0 부터 다시 시작해도 이전 ETag 와 겹치지 않도록
+    private final long epoch = System.currentTimeMillis();
+    private final Map<Class<?>, AtomicLong> versions = new ConcurrentHashMap<>();
+
+    public long version(Class<?> entityType) {
+        AtomicLong version = versions.get(entityType);
+        return version == null ? 0 : version.get();
+    }
+
+    public void increment(Class<?> entityType) {
+        versions.computeIfAbsent(entityType, key -> new AtomicLong()).incrementAndGet();
+    }
+
+    // 하이버네이트 이벤트를 거치지 않는 벌크 update, JDBC 쓰기용. 트랜잭션이 있으면 커밋 후 증가한다.
+    public void incrementAfterCommit(Class<?> entityType) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            increment(entityType);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                increment(entityType);
+            }
+        });
+    }
+
+    // W/"{epoch}-{v1}-{v2}..."
+    public String etag(Class<?>... entityTypes) {
+        StringBuilder etag = new StringBuilder("W/\"").append(Long.toHexString(epoch));
+        for (Class<?> entityType : entityTypes) {
+            etag.append('-').append(version(entityType));
+        }
+        return etag.append('"').toString();
+    }
+}
@@ -0,0 +1,156 @@
+package study.kimquerydsl.event;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import study.kimquerydsl.config.CacheInvalidationProperties;
+
+/**
+ * 공유 DB 테이블을 통한 캐시 무효화 버스
+ * - 발행: 자기 노드에는 바로 전달하고, 테이블 기록은 백그라운드 스레드가 모아서 batch insert 한다.
+ *   (커밋 후 이벤트에서 호출되므로 이미 끝난 트랜잭션의 커넥션으로 insert 하지 않기 위해)
+ * - 수신: pollIntervalMillis 마다 다른 노드가 기록한 메시지를 읽어서 전달한다.
+ * - identity 는 커밋 순서와 다를 수 있어서 마지막 id 보다 LOOKBACK 만큼 앞에서부터 다시 읽고 중복은 거른다.
+ *   (무효화는 여러 번 적용해도 결과가 같다)
+ */
+@Slf4j
+public class JdbcCacheInvalidationBus extends LoopbackCacheInvalidationBus {
+
+    static final String CREATE_SQL = "create table if not exists cache_invalidation ("
+        + "id bigint generated by default as identity primary key, "
+        + "origin varchar(36) not null, "
+        + "entity_type varchar(255) not null, "
+        + "entity_id bigint, "
+        + "created_at timestamp not null)";
+    static final String INSERT_SQL =
+        "insert into cache_invalidation (origin, entity_type, entity_id, created_at) values (?, ?, ?, ?)";
+    static final String SELECT_SQL =
+        "select id, origin, entity_type, entity_id from cache_invalidation where id > ? order by id";
+    static final String PURGE_SQL = "delete from cache_invalidation where created_at < ?";
+
+    private static final long LOOKBACK = 100;
+    private static final int SEEN_LIMIT = 10_000;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final CacheInvalidationProperties properties;
+    private final Queue<CacheInvalidation> outbox = new ConcurrentLinkedQueue<>();
+    private final Set<Long> seen = new LinkedHashSet<>();
+    private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "cache-invalidation-poller");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private long lastId;
+    private Instant lastPurge = Instant.now();
+
+    public JdbcCacheInvalidationBus(JdbcTemplate jdbcTemplate, CacheInvalidationProperties properties) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.properties = properties;
+    }
+
+    // 기동 이전 메시지는 무시 (로컬 캐시도 비어있다)
+    public void start() {
+        jdbcTemplate.execute(CREATE_SQL);
+        Long maxId = jdbcTemplate.queryForObject("select max(id) from cache_invalidation", Long.class);
+        lastId = maxId == null ? 0 : maxId;
+        scheduler.scheduleWithFixedDelay(this::tick,
+            properties.getPollIntervalMillis(), properties.getPollIntervalMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public void publish(Class<?> entityType, Long entityId) {
+        CacheInvalidation message = new CacheInvalidation(nodeId(), entityType.getName(), entityId);
+        deliver(message);
+        outbox.add(message);
+    }
+
+    // 종료 전에 남은 메시지를 기록해서 다른 노드가 받을 수 있게 한다.
+    @Override
+    public void close() {
+        scheduler.shutdown();
+        try {
+            scheduler.awaitTermination(properties.getPollIntervalMillis() * 2, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        flushOutbox();
+    }
+
+    private void tick() {
+        try {
+            flushOutbox();
+            poll();
+            purge();
+        } catch (RuntimeException e) {
+            log.warn("cache invalidation poll failed", e);
+        }
+    }
+
+    synchronized int flushOutbox() {
+        List<CacheInvalidation> messages = new ArrayList<>();
+        CacheInvalidation message;
+        while ((message = outbox.poll()) != null) {
+            messages.add(message);
+        }
+        if (messages.isEmpty()) {
+            return 0;
+        }
+        Timestamp now = Timestamp.from(Instant.now());
+        jdbcTemplate.batchUpdate(INSERT_SQL, messages, messages.size(), (ps, m) -> {
+            ps.setString(1, m.getOrigin());
+            ps.setString(2, m.getEntityType());
+            ps.setObject(3, m.getEntityId());
+            ps.setTimestamp(4, now);
+        });
+        return messages.size();
+    }
+
+    // 다른 노드 메시지만 전달 (자기 메시지는 발행 시점에 이미 전달)
+    synchronized int poll() {
+        List<Long> ids = new ArrayList<>();
+        List<CacheInvalidation> received = new ArrayList<>();
+        jdbcTemplate.query(SELECT_SQL, rs -> {
+            long id = rs.getLong("id");
+            ids.add(id);
+            if (seen.contains(id)) {
+                return;
+            }
+            CacheInvalidation message = new CacheInvalidation(
+                rs.getString("origin"), rs.getString("entity_type"), rs.getObject("entity_id", Long.class));
+            if (!message.isFrom(nodeId())) {
+                received.add(message);
+            }
+        }, Math.max(0, lastId - LOOKBACK));
+
+        for (Long id : ids) {
+            seen.add(id);
+            lastId = Math.max(lastId, id);
+        }
+        while (seen.size() > SEEN_LIMIT) {
+            seen.remove(seen.iterator().next());
+        }
+
+        received.forEach(this::deliver);
+        return received.size();
+    }
+
+    private void purge() {
+        Instant now = Instant.now();
+        if (lastPurge.plus(1, ChronoUnit.MINUTES).isAfter(now)) {
+            return;
+        }
+        lastPurge = now;
+        jdbcTemplate.update(PURGE_SQL, Timestamp.from(now.minus(properties.getRetentionMinutes(), ChronoUnit.MINUTES)));
+    }
+}
@@ -0,0 +1,34 @@
+package study.kimquerydsl.event;
+
+import jakarta.annotation.PostConstruct;
+import java.util.function.Consumer;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.util.ClassUtils;
+
+/**
+ * 무효화 메시지를 받아서 이 노드의 변경 카운터(ETag)를 올린다.
+ * 다른 노드의 변경일 때만 올린다. (자기 노드 변경은 EntityVersionEventListener 가 올린다)
+ * 2차 캐시는 사용하지 않으므로 비울 엔티티 캐시는 없다.
+ */
+@Component
+@RequiredArgsConstructor
+public class LocalCacheInvalidator implements Consumer<CacheInvalidation> {
+
+    private final CacheInvalidationBus invalidationBus;
+    private final EntityVersionCounters versionCounters;
+
+    @PostConstruct
+    public void subscribe() {
+        invalidationBus.subscribe(this);
+    }
+
+    @Override
+    public void accept(CacheInvalidation message) {
+        if (message.isFrom(invalidationBus.nodeId())) {
+            return;
+        }
+        Class<?> entityType = ClassUtils.resolveClassName(message.getEntityType(), getClass().getClassLoader());
+        versionCounters.increment(entityType);
+    }
+}
@@ -0,0 +1,44 @@
+package study.kimquerydsl.event;
+
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 단일 노드(테스트)용 - 발행 즉시 자기 노드 구독자에게만 전달한다.
+ * 다른 노드로 전달하는 구현체(JdbcCacheInvalidationBus)도 로컬 전달은 이 클래스를 사용한다.
+ */
+@Slf4j
+public class LoopbackCacheInvalidationBus implements CacheInvalidationBus {
+
+    private final String nodeId = UUID.randomUUID().toString();
+    private final List<Consumer<CacheInvalidation>> subscribers = new CopyOnWriteArrayList<>();
+
+    @Override
+    public String nodeId() {
+        return nodeId;
+    }
+
+    @Override
+    public void publish(Class<?> entityType, Long entityId) {
+        deliver(new CacheInvalidation(nodeId, entityType.getName(), entityId));
+    }
+
+    @Override
+    public void subscribe(Consumer<CacheInvalidation> subscriber) {
+        subscribers.add(subscriber);
+    }
+
+    // 구독자 하나가 실패해도 나머지는 무효화되도록
+    protected void deliver(CacheInvalidation message) {
+        for (Consumer<CacheInvalidation> subscriber : subscribers) {
+            try {
+                subscriber.accept(message);
+            } catch (RuntimeException e) {
+                log.warn("cache invalidation failed. message={}", message, e);
+            }
+        }
+    }
+}
@@ -0,0 +1,132 @@
+package study.kimquerydsl.event;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.Map;
+import java.util.Objects;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import org.hibernate.SessionEventListener;
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.event.spi.PostDeleteEvent;
+import org.hibernate.event.spi.PostDeleteEventListener;
+import org.hibernate.event.spi.PostInsertEvent;
+import org.hibernate.event.spi.PostInsertEventListener;
+import org.hibernate.event.spi.PostUpdateEvent;
+import org.hibernate.event.spi.PostUpdateEventListener;
+import org.hibernate.persister.entity.EntityPersister;
+import org.springframework.stereotype.Component;
+import study.kimquerydsl.entity.Member;
+import study.kimquerydsl.entity.Team;
+import study.kimquerydsl.entity.TeamMemberCount;
+import study.kimquerydsl.repository.TeamMemberCountRepository;
+
+/**
+ * 회원 insert/delete/팀 변경을 세션별로 모아 두었다가 flush 가 끝날 때 팀별 회원 수 테이블에 반영한다.
+ * 같은 커넥션(트랜잭션)으로 쓰므로 롤백되면 함께 롤백된다.
+ * 벌크 update, JDBC 쓰기는 이벤트가 없으므로 MemberBulkRepository 가 직접 반영한다.
+ */
+@Component
+public class TeamMemberCountEventListener implements PostInsertEventListener, PostUpdateEventListener,
+    PostDeleteEventListener {
+
+    private final Map<SharedSessionContractImplementor, PendingDeltas> pending = new ConcurrentHashMap<>();
+
+    @Override
+    public void onPostInsert(PostInsertEvent event) {
+        if (event.getEntity() instanceof Member) {
+            add(event.getSession(), teamId(event.getPersister(), event.getState()), 1);
+        }
+    }
+
+    @Override
+    public void onPostUpdate(PostUpdateEvent event) {
+        if (!(event.getEntity() instanceof Member) || event.getOldState() == null) {
+            return;
+        }
+        Long oldTeamId = teamId(event.getPersister(), event.getOldState());
+        Long newTeamId = teamId(event.getPersister(), event.getState());
+        if (!Objects.equals(oldTeamId, newTeamId)) {
+            add(event.getSession(), oldTeamId, -1);
+            add(event.getSession(), newTeamId, 1);
+        }
+    }
+
+    @Override
+    public void onPostDelete(PostDeleteEvent event) {
+        if (event.getEntity() instanceof Member) {
+            add(event.getSession(), teamId(event.getPersister(), event.getDeletedState()), -1);
+        }
+    }
+
+    @Override
+    public boolean requiresPostCommitHandling(EntityPersister persister) {
+        return false;
+    }
+
+    private Long teamId(EntityPersister persister, Object[] state) {
+        Team team = (Team) state[persister.getEntityMetamodel().getPropertyIndex("team")];
+        return team == null ? TeamMemberCount.NO_TEAM : team.getId();
+    }
+
+    private void add(SharedSessionContractImplementor session, Long teamId, long delta) {
+        pending.computeIfAbsent(session, this::register).add(teamId, delta);
+    }
+
+    private PendingDeltas register(SharedSessionContractImplementor session) {
+        PendingDeltas deltas = new PendingDeltas(session);
+        session.getEventListenerManager().addListener(deltas);
+        return deltas;
+    }
+
+    private class PendingDeltas implements SessionEventListener {
+
+        private final SharedSessionContractImplementor session;
+        // 교착 방지를 위해 TeamMemberCountRepository.addAll 과 같은 team_id 순서로 반영한다.
+        private final Map<Long, Long> deltas = new TreeMap<>();
+
+        PendingDeltas(SharedSessionContractImplementor session) {
+            this.session = session;
+        }
+
+        void add(Long teamId, long delta) {
+            deltas.merge(teamId, delta, Long::sum);
+        }
+
+        // flush 중에는 쿼리를 실행하면 다시 flush 되므로 JDBC 로 직접 쓴다.
+        @Override
+        public void flushEnd(int numberOfEntities, int numberOfCollections) {
+            if (deltas.isEmpty()) {
+                return;
+            }
+            Connection connection = session.getJdbcCoordinator().getLogicalConnection().getPhysicalConnection();
+            int slot = TeamMemberCount.currentSlot();
+            try (PreparedStatement ps = connection.prepareStatement(TeamMemberCountRepository.MERGE_SQL)) {
+                for (Map.Entry<Long, Long> entry : deltas.entrySet()) {
+                    if (entry.getValue() != 0) {
+                        ps.setLong(1, entry.getKey());
+                        ps.setInt(2, slot);
+                        ps.setLong(3, entry.getValue());
+                        ps.addBatch();
+                    }
+                }
+                ps.executeBatch();
+            } catch (SQLException e) {
+                throw session.getJdbcServices().getSqlExceptionHelper()
+                    .convert(e, "팀별 회원 수 갱신 실패", TeamMemberCountRepository.MERGE_SQL);
+            }
+            deltas.clear();
+        }
+
+        @Override
+        public void transactionCompletion(boolean successful) {
+            deltas.clear();
+        }
+
+        @Override
+        public void end() {
+            pending.remove(session);
+        }
+    }
+}
@@ -0,0 +1,35 @@
+package study.kimquerydsl.monitor;
+
+import java.util.regex.Pattern;
+
+/**
+ * SQL 지문: 값만 다른 SQL 을 하나로 묶기 위한 정규화
+ * - 주석 제거 (use_sql_comments 로 붙는 JPQL 주석 포함)
+ * - 문자열/숫자 리터럴 -> ?
+ * - in (?, ?, ...) -> in (?+)  (in 절 길이, 패딩 길이가 달라도 같은 지문)
+ * - 공백 정리, 소문자
+ */
+public final class SqlFingerprint {
+
+    private static final Pattern BLOCK_COMMENT = Pattern.compile("/\\*.*?\\*/", Pattern.DOTALL);
+    private static final Pattern LINE_COMMENT = Pattern.compile("--[^\\n]*");
+    private static final Pattern STRING_LITERAL = Pattern.compile("'(?:[^']|'')*'");
+    private static final Pattern NUMBER_LITERAL = Pattern.compile("(?<![\\w.])-?\\d+(?:\\.\\d+)?(?![\\w.])");
+    private static final Pattern IN_LIST = Pattern.compile("\\bin\\s*\\(\\s*\\?(?:\\s*,\\s*\\?)*\\s*\\)");
+    private static final Pattern VALUES_LIST = Pattern.compile("\\bvalues\\s*(\\([^()]*\\))(?:\\s*,\\s*\\([^()]*\\))+");
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+
+    private SqlFingerprint() {
+    }
+
+    public static String of(String sql) {
+        String normalized = BLOCK_COMMENT.matcher(sql).replaceAll(" ");
+        normalized = LINE_COMMENT.matcher(normalized).replaceAll(" ");
+        normalized = STRING_LITERAL.matcher(normalized).replaceAll("?");
+        normalized = NUMBER_LITERAL.matcher(normalized).replaceAll("?");
+        normalized = WHITESPACE.matcher(normalized).replaceAll(" ").trim().toLowerCase();
+        normalized = IN_LIST.matcher(normalized).replaceAll("in (?+)");
+        normalized = VALUES_LIST.matcher(normalized).replaceAll("values $1+");
+        return normalized;
+    }
+}
@@ -0,0 +1,80 @@
+package study.kimquerydsl.monitor;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import study.kimquerydsl.dto.SqlStatsSnapshot;
+
+/**
+ * 지문 하나의 실행 통계. 잠금 없이 여러 스레드에서 동시에 기록한다.
+ * 응답 시간 히스토그램은 마이크로초 기준 2의 거듭제곱 버킷 (버킷 i = [2^(i-1), 2^i) us)
+ */
+public class SqlStats {
+
+    static final int BUCKETS = 40;
+
+    private final String fingerprint;
+    private final LongAdder count = new LongAdder();
+    private final LongAdder errors = new LongAdder();
+    private final LongAdder totalNanos = new LongAdder();
+    private final AtomicLong maxNanos = new AtomicLong();
+    private final LongAdder[] histogram = new LongAdder[BUCKETS];
+
+    public SqlStats(String fingerprint) {
+        this.fingerprint = fingerprint;
+        for (int i = 0; i < BUCKETS; i++) {
+            histogram[i] = new LongAdder();
+        }
+    }
+
+    public void record(long elapsedNanos, boolean error) {
+        count.increment();
+        if (error) {
+            errors.increment();
+        }
+        totalNanos.add(elapsedNanos);
+        maxNanos.accumulateAndGet(elapsedNanos, Math::max);
+        histogram[bucket(elapsedNanos)].increment();
+    }
+
+    static int bucket(long elapsedNanos) {
+        long micros = TimeUnit.NANOSECONDS.toMicros(elapsedNanos);
+        return Math.min(BUCKETS - 1, 64 - Long.numberOfLeadingZeros(micros));
+    }
+
+    // 버킷 상한값(us) 기준 백분위수 (실제 값보다 최대 2배 크게 나올 수 있다)
+    private double percentileMillis(long[] counts, long total, double percentile) {
+        long rank = (long) Math.ceil(percentile * total);
+        long seen = 0;
+        for (int i = 0; i < counts.length; i++) {
+            seen += counts[i];
+            if (seen >= rank) {
+                return (1L << i) / 1000.0;
+            }
+        }
+        return maxNanos.get() / 1_000_000.0;
+    }
+
+    public SqlStatsSnapshot snapshot() {
+        long[] counts = new long[BUCKETS];
+        long total = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            counts[i] = histogram[i].sum();
+            total += counts[i];
+        }
+        long executions = count.sum();
+        long totalNanosSum = totalNanos.sum();
+
+        SqlStatsSnapshot snapshot = new SqlStatsSnapshot();
+        snapshot.setFingerprint(fingerprint);
+        snapshot.setCount(executions);
+        snapshot.setErrors(errors.sum());
+        snapshot.setTotalMillis(totalNanosSum / 1_000_000.0);
+        snapshot.setAvgMillis(executions == 0 ? 0 : totalNanosSum / 1_000_000.0 / executions);
+        snapshot.setMaxMillis(maxNanos.get() / 1_000_000.0);
+        snapshot.setP50Millis(total == 0 ? 0 : percentileMillis(counts, total, 0.50));
+        snapshot.setP95Millis(total == 0 ? 0 : percentileMillis(counts, total, 0.95));
+        snapshot.setP99Millis(total == 0 ? 0 : percentileMillis(counts, total, 0.99));
+        return snapshot;
+    }
+}
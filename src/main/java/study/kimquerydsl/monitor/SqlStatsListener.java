@@ -0,0 +1,87 @@
+package study.kimquerydsl.monitor;
+
+import com.p6spy.engine.common.StatementInformation;
+import com.p6spy.engine.event.SimpleJdbcEventListener;
+import java.sql.SQLException;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import study.kimquerydsl.dto.SqlStatsSnapshot;
+
+/**
+ * p6spy 이벤트 리스너 - 실행된 SQL 을 지문별로 집계한다.
+ * p6spy-spring-boot-starter 가 JdbcEventListener 빈을 자동으로 등록한다.
+ * 지문 수가 maxFingerprints 를 넘으면(리터럴이 박힌 SQL 등) 나머지는 OTHER 로 모은다.
+ */
+@Component
+public class SqlStatsListener extends SimpleJdbcEventListener {
+
+    public static final String OTHER = "(other)";
+
+    private final int maxFingerprints;
+    private final Map<String, SqlStats> stats = new ConcurrentHashMap<>();
+    // 정규식 정규화 비용을 줄이기 위한 SQL -> 지문 캐시 (PreparedStatement SQL 은 종류가 제한적)
+    private final Map<String, String> fingerprints = new ConcurrentHashMap<>();
+
+    public SqlStatsListener(@Value("${sql.stats.max-fingerprints:1000}") int maxFingerprints) {
+        this.maxFingerprints = maxFingerprints;
+    }
+
+    @Override
+    public void onAfterAnyExecute(StatementInformation statementInformation, long timeElapsedNanos, SQLException e) {
+        String sql = statementInformation.getSql();
+        if (sql != null && !sql.isBlank()) {
+            record(sql, timeElapsedNanos, e != null);
+        }
+    }
+
+    public void record(String sql, long elapsedNanos, boolean error) {
+        String fingerprint = fingerprint(sql);
+        SqlStats sqlStats = stats.get(fingerprint);
+        if (sqlStats == null) {
+            String key = stats.size() < maxFingerprints ? fingerprint : OTHER;
+            sqlStats = stats.computeIfAbsent(key, SqlStats::new);
+        }
+        sqlStats.record(elapsedNanos, error);
+    }
+
+    private String fingerprint(String sql) {
+        String fingerprint = fingerprints.get(sql);
+        if (fingerprint == null) {
+            fingerprint = SqlFingerprint.of(sql);
+            if (fingerprints.size() < maxFingerprints * 10) {
+                fingerprints.put(sql, fingerprint);
+            }
+        }
+        return fingerprint;
+    }
+
+    public List<SqlStatsSnapshot> top(int n, SortBy sortBy) {
+        return stats.values().stream()
+            .map(SqlStats::snapshot)
+            .sorted(sortBy.comparator.reversed())
+            .limit(n)
+            .toList();
+    }
+
+    public void reset() {
+        stats.clear();
+    }
+
+    public enum SortBy {
+        TOTAL(Comparator.comparingDouble(SqlStatsSnapshot::getTotalMillis)),
+        COUNT(Comparator.comparingLong(SqlStatsSnapshot::getCount)),
+        AVG(Comparator.comparingDouble(SqlStatsSnapshot::getAvgMillis)),
+        MAX(Comparator.comparingDouble(SqlStatsSnapshot::getMaxMillis)),
+        P99(Comparator.comparingDouble(SqlStatsSnapshot::getP99Millis));
+
+        private final Comparator<SqlStatsSnapshot> comparator;
+
+        SortBy(Comparator<SqlStatsSnapshot> comparator) {
+            this.comparator = comparator;
+        }
+    }
+}
@@ -0,0 +1,434 @@
+package study.kimquerydsl.repository;
+
+import static org.springframework.util.ObjectUtils.isEmpty;
+import static study.kimquerydsl.entity.QMember.member;
+import static study.kimquerydsl.entity.QTeam.team;
+
+import com.querydsl.core.Tuple;
+import com.querydsl.core.types.ExpressionUtils;
+import com.querydsl.core.types.Predicate;
+import com.querydsl.core.types.dsl.BooleanExpression;
+import com.querydsl.jpa.JPAExpressions;
+import com.querydsl.jpa.JPQLQuery;
+import com.querydsl.jpa.impl.JPAQueryFactory;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.LockModeType;
+import java.sql.Types;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.id.IdentifierGenerator;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+import study.kimquerydsl.dto.MemberImportRow;
+import study.kimquerydsl.dto.MemberSearchCondition;
+import study.kimquerydsl.entity.Member;
+import study.kimquerydsl.entity.Team;
+import study.kimquerydsl.event.CacheInvalidationBus;
+import study.kimquerydsl.event.EntityVersionCounters;
+import study.kimquerydsl.repository.support.InClauses;
+
+/**
+ * 대량 쓰기 전용 리포지토리. 엔티티를 영속성 컨텍스트에 올리지 않고 JDBC 배치로 바로 쓴다.
+ * reassignTeam, renameTeam, addAge 는 끝나면 영속성 컨텍스트를 flush 후 비우므로(flushAndClear),
+ * 호출 전에 로딩한 엔티티는 준영속이 된다.
+ */
+@Repository
+public class MemberBulkRepository {
+
+    private static final String UPDATE_BY_USERNAME =
+        "update member set age = ?, team_id = ?, team_name = ? where username = ?";
+    private static final String INSERT =
+        "insert into member (member_id, username, age, team_id, team_name) values (?, ?, ?, ?, ?)";
+    private static final String INSERT_TEAM = "insert into team (team_id, name) values (?, ?)";
+
+    private final EntityManager em;
+    private final JdbcTemplate jdbcTemplate;
+    private final JPAQueryFactory queryFactory;
+    private final EntityVersionCounters versionCounters;
+    private final TeamMemberCountRepository teamMemberCountRepository;
+    private final CacheInvalidationBus invalidationBus;
+
+    public MemberBulkRepository(EntityManager em, JdbcTemplate jdbcTemplate, EntityVersionCounters versionCounters,
+        TeamMemberCountRepository teamMemberCountRepository, CacheInvalidationBus invalidationBus) {
+        this.em = em;
+        this.jdbcTemplate = jdbcTemplate;
+        this.queryFactory = new JPAQueryFactory(em);
+        this.versionCounters = versionCounters;
+        this.teamMemberCountRepository = teamMemberCountRepository;
+        this.invalidationBus = invalidationBus;
+    }
+
+    // 팀명 -> 팀 id
+    public Map<String, Long> findTeamIdsByName() {
+        Map<String, Long> teamIds = new HashMap<>();
+        for (Tuple tuple : queryFactory
+            .select(team.name, team.id)
+            .from(team)
+            .where(team.name.isNotNull())
+            .fetch()) {
+            teamIds.putIfAbsent(tuple.get(team.name), tuple.get(team.id));
+        }
+        return teamIds;
+    }
+
+    // 주어진 팀명 중 이미 있는 팀명 -> 팀 id
+    public Map<String, Long> findTeamIdsByName(Collection<String> names) {
+        Map<String, Long> teamIds = new HashMap<>();
+        for (Tuple tuple : queryFactory
+            .select(team.name, team.id)
+            .from(team)
+            .where(team.name.in(names))
+            .fetch()) {
+            teamIds.put(tuple.get(team.name), tuple.get(team.id));
+        }
+        return teamIds;
+    }
+
+    /**
+     * 팀을 insert 하고 팀명 -> 팀 id 를 반환한다.
+     * 그 사이 다른 트랜잭션이 같은 이름의 팀을 넣으면 유니크 제약(uk_team_name)에 걸린다.
+     *
+     * @throws DuplicateKeyException 동시에 같은 이름의 팀이 insert 되었을 때. 트랜잭션을 롤백하고 다시 조회하면 그 팀을 쓴다.
+     */
+    public Map<String, Long> insertTeams(Collection<String> names) {
+        IdentifierGenerator idGenerator = idGenerator(Team.class);
+        SharedSessionContractImplementor session = em.unwrap(SharedSessionContractImplementor.class);
+
+        Map<String, Long> teamIds = new LinkedHashMap<>();
+        for (String name : names) {
+            teamIds.put(name, (Long) idGenerator.generate(session, null));
+        }
+        jdbcTemplate.batchUpdate(INSERT_TEAM, teamIds.entrySet(), teamIds.size(), (ps, entry) -> {
+            ps.setLong(1, entry.getValue());
+            ps.setString(2, entry.getKey());
+        });
+
+        versionCounters.incrementAfterCommit(Team.class);
+        invalidationBus.publishAfterCommit(Team.class, teamIds.values());
+        return teamIds;
+    }
+
+    /**
+     * username 기준 upsert. 같은 배치 안에서 username 이 중복되면 마지막 행이 이긴다. (한 번만 센다)
+     * 조회한 뒤 insert 하므로 그 사이 다른 트랜잭션이 같은 username 을 넣으면 유니크 제약(uk_member_username)에 걸린다.
+     *
+     * @return 실제로 insert, update 된 회원 수
+     * @throws DuplicateKeyException 동시에 같은 username 이 insert 되었을 때. 트랜잭션을 롤백하고 다시 실행하면 update 된다.
+     */
+    public UpsertCount upsertByUsername(List<MemberImportRow> rows) {
+        em.flush(); // 같은 트랜잭션에서 persist 한 팀, 회원이 있으면 조회, FK 참조 전에 반영
+
+        Map<String, MemberImportRow> byUsername = new LinkedHashMap<>();
+        for (MemberImportRow row : rows) {
+            byUsername.put(row.getUsername(), row);
+        }
+
+        // username -> 기존 팀 id (팀이 없으면 null)
+        Map<String, Long> existing = new HashMap<>();
+        List<Long> changedIds = new ArrayList<>();
+        for (Tuple tuple : queryFactory
+            .select(member.id, member.username, member.team.id)
+            .from(member)
+            .where(member.username.in(byUsername.keySet()))
+            .fetch()) {
+            existing.put(tuple.get(member.username), tuple.get(member.team.id));
+            changedIds.add(tuple.get(member.id));
+        }
+
+        List<MemberImportRow> updates = new ArrayList<>();
+        List<MemberImportRow> inserts = new ArrayList<>();
+        Map<Long, Long> countDeltas = new HashMap<>();
+        for (MemberImportRow row : byUsername.values()) {
+            if (!existing.containsKey(row.getUsername())) {
+                inserts.add(row);
+                countDeltas.merge(row.getTeamId(), 1L, Long::sum);
+                continue;
+            }
+            updates.add(row);
+            countDeltas.merge(existing.get(row.getUsername()), -1L, Long::sum);
+            countDeltas.merge(row.getTeamId(), 1L, Long::sum);
+        }
+
+        if (!updates.isEmpty()) {
+            jdbcTemplate.batchUpdate(UPDATE_BY_USERNAME, updates, updates.size(), (ps, row) -> {
+                ps.setInt(1, row.getAge());
+                ps.setObject(2, row.getTeamId(), Types.BIGINT);
+                ps.setString(3, row.getTeamName());
+                ps.setString(4, row.getUsername());
+            });
+        }
+
+        if (!inserts.isEmpty()) {
+            // 식별자는 하이버네이트 시퀀스 생성기로 할당해야 이후 em.persist() 와 충돌하지 않는다.
+            SharedSessionContractImplementor session = em.unwrap(SharedSessionContractImplementor.class);
+            IdentifierGenerator idGenerator = idGenerator(Member.class);
+
+            jdbcTemplate.batchUpdate(INSERT, inserts, inserts.size(), (ps, row) -> {
+                Long id = (Long) idGenerator.generate(session, null);
+                changedIds.add(id);
+                ps.setLong(1, id);
+                ps.setString(2, row.getUsername());
+                ps.setInt(3, row.getAge());
+                ps.setObject(4, row.getTeamId(), Types.BIGINT);
+                ps.setString(5, row.getTeamName());
+            });
+        }
+        // JDBC 쓰기는 하이버네이트 이벤트가 없으므로 팀별 회원 수, 변경 카운터를 직접 반영한다.
+        teamMemberCountRepository.addAll(countDeltas);
+        versionCounters.incrementAfterCommit(Member.class);
+        invalidationBus.publishAfterCommit(Member.class, changedIds);
+        return new UpsertCount(inserts.size(), updates.size());
+    }
+
+    public record UpsertCount(int inserted, int updated) {
+    }
+
+    /**
+     * 조건에 맞는 회원을 targetTeamId 팀으로 옮긴다. (update member set team_id = ? where member_id in (...))
+     * 엔티티를 로딩하지 않고 Team.members 컬렉션도 초기화하지 않는다.
+     * 팀명 조건은 벌크 update 에서 조인할 수 없으므로 서브쿼리로 바꾼다.
+     * 대상 회원을 먼저 잠그고(select ... for update) 잠근 회원만 옮기므로, 그 사이 다른 팀 이동이 끼어들어도 팀별 회원 수가 어긋나지 않는다.
+     */
+    public long reassignTeam(MemberSearchCondition condition, Long targetTeamId) {
+        em.flush();
+        Map<Long, Long> currentTeams = lockCurrentTeams(ExpressionUtils.allOf(
+            usernameEq(condition.getUsername()),
+            teamNameIn(condition.getTeamName()),
+            ageGoe(condition.getAgeGoe()),
+            ageLoe(condition.getAgeLoe()),
+            notInTeam(targetTeamId)
+        ));
+
+        long updated = moveLocked(currentTeams, targetTeamId);
+        afterBulkTeamUpdate(Member.class, currentTeams.keySet());
+        return updated;
+    }
+
+    // id 목록 기준, InClauses.MAX_SIZE 개씩 나눠서(2의 거듭제곱 패딩) 잠근 뒤 update
+    public long reassignTeam(Collection<Long> memberIds, Long targetTeamId) {
+        em.flush();
+        Map<Long, Long> currentTeams = new LinkedHashMap<>();
+        for (List<Long> chunk : InClauses.paddedChunks(memberIds)) {
+            currentTeams.putAll(lockCurrentTeams(ExpressionUtils.allOf(
+                member.id.in(chunk),
+                notInTeam(targetTeamId)
+            )));
+        }
+
+        long updated = moveLocked(currentTeams, targetTeamId);
+        afterBulkTeamUpdate(Member.class, memberIds);
+        return updated;
+    }
+
+    /**
+     * 회원 한 명의 팀 이동. Team 엔티티와 Team.members 컬렉션을 로딩하지 않고 member.team_id 만 바꾼다.
+     * 읽어둔 team_id 가 그대로일 때만 update 하고(compare-and-set), 그 사이 다른 트랜잭션이 바꿨으면 다시 읽어서 재시도한다.
+     * 팀 이름은 같은 update 안에서 team 행에서 읽으므로(서브쿼리) 미리 읽어 둔 이름이 그 사이 바뀐 이름을 덮어쓰지 않는다.
+     * 영속성 컨텍스트에 이미 로딩된 Member 는 갱신되지 않는다.
+     *
+     * @return 이동했으면 true, 이미 대상 팀이면 false
+     * @throws IllegalArgumentException 회원이 없을 때
+     * @throws OptimisticLockingFailureException maxAttempts 번 모두 다른 트랜잭션과 충돌했을 때
+     */
+    public boolean moveToTeam(Long memberId, Long targetTeamId, int maxAttempts) {
+        em.flush();
+        for (int attempt = 1; attempt <= maxAttempts; attempt++) {
+            Tuple current = queryFactory
+                .select(member.id, member.team.id)
+                .from(member)
+                .where(member.id.eq(memberId))
+                .fetchOne();
+            if (current == null) {
+                throw new IllegalArgumentException("회원이 존재하지 않습니다: " + memberId);
+            }
+            Long currentTeamId = current.get(member.team.id);
+            if (targetTeamId.equals(currentTeamId)) {
+                return false;
+            }
+
+            long updated = queryFactory
+                .update(member)
+                .set(member.team, em.getReference(Team.class, targetTeamId))
+                .set(member.teamName, teamNameOf(targetTeamId))
+                .where(
+                    member.id.eq(memberId),
+                    currentTeamId == null ? member.team.isNull() : member.team.id.eq(currentTeamId)
+                )
+                .execute();
+            if (updated == 1) {
+                afterMove(memberId, currentTeamId, targetTeamId);
+                return true;
+            }
+        }
+        throw new OptimisticLockingFailureException("팀 이동 충돌이 계속됩니다. memberId=" + memberId);
+    }
+
+    private void afterMove(Long memberId, Long fromTeamId, Long toTeamId) {
+        Map<Long, Long> countDeltas = new HashMap<>();
+        countDeltas.put(fromTeamId, -1L);
+        countDeltas.put(toTeamId, 1L);
+        teamMemberCountRepository.addAll(countDeltas);
+
+        versionCounters.incrementAfterCommit(Member.class);
+        invalidationBus.publishAfterCommit(Member.class, memberId);
+    }
+
+    /**
+     * 팀 이름 변경. 팀 이름을 바꾸는 유일한 경로로, 비정규화 컬럼(member.teamName)도 같은 트랜잭션에서 바꾼다.
+     *
+     * @return 팀 이름이 바뀐 회원 수
+     */
+    public long renameTeam(Long teamId, String teamName) {
+        em.flush();
+        queryFactory
+            .update(team)
+            .set(team.name, teamName)
+            .where(team.id.eq(teamId))
+            .execute();
+        versionCounters.incrementAfterCommit(Team.class);
+
+        long updated = queryFactory
+            .update(member)
+            .set(member.teamName, teamName)
+            .where(member.team.id.eq(teamId))
+            .execute();
+
+        // 구독자는 팀 id 로 그 팀 회원을 다시 읽는다.
+        afterBulkTeamUpdate(Team.class, List.of(teamId));
+        return updated;
+    }
+
+    /**
+     * 회원별 나이 증감을 반영한다. (MemberAgeWriteBehindBuffer flush 용)
+     * 증감값이 같은 회원끼리 묶어서 update member set age = age + ? where member_id in (...) 로 실행한다.
+     *
+     * @throws ArithmeticException 증감값이 int 범위를 넘을 때 (아무것도 반영하지 않는다)
+     */
+    public long addAge(Map<Long, Long> deltas) {
+        em.flush();
+        Map<Integer, List<Long>> idsByDelta = new HashMap<>();
+        deltas.forEach((memberId, delta) -> {
+            if (delta != 0) {
+                idsByDelta.computeIfAbsent(Math.toIntExact(delta), key -> new ArrayList<>()).add(memberId);
+            }
+        });
+
+        long updated = 0;
+        for (Map.Entry<Integer, List<Long>> entry : idsByDelta.entrySet()) {
+            for (List<Long> chunk : InClauses.paddedChunks(entry.getValue())) {
+                updated += queryFactory
+                    .update(member)
+                    .set(member.age, member.age.add(entry.getKey()))
+                    .where(member.id.in(chunk))
+                    .execute();
+            }
+        }
+
+        versionCounters.incrementAfterCommit(Member.class);
+        invalidationBus.publishAfterCommit(Member.class,
+            idsByDelta.values().stream().flatMap(List::stream).toList());
+        flushAndClear();
+        return updated;
+    }
+
+    // where 에 해당하는 회원을 잠그고 회원 id -> 현재 팀 id (팀이 없으면 null)
+    private Map<Long, Long> lockCurrentTeams(Predicate where) {
+        Map<Long, Long> currentTeams = new LinkedHashMap<>();
+        for (Tuple tuple : queryFactory
+            .select(member.id, member.team.id)
+            .from(member)
+            .where(where)
+            .setLockMode(LockModeType.PESSIMISTIC_WRITE)
+            .fetch()) {
+            currentTeams.put(tuple.get(member.id), tuple.get(member.team.id));
+        }
+        return currentTeams;
+    }
+
+    // 잠근 회원만 id 로 옮기고, 팀별 회원 수 증감도 잠근 결과로 계산한다.
+    private long moveLocked(Map<Long, Long> currentTeams, Long targetTeamId) {
+        long updated = 0;
+        for (List<Long> chunk : InClauses.paddedChunks(currentTeams.keySet())) {
+            updated += queryFactory
+                .update(member)
+                .set(member.team, em.getReference(Team.class, targetTeamId))
+                .set(member.teamName, teamNameOf(targetTeamId))
+                .where(member.id.in(chunk))
+                .execute();
+        }
+
+        Map<Long, Long> countDeltas = new HashMap<>();
+        for (Long currentTeamId : currentTeams.values()) {
+            countDeltas.merge(currentTeamId, -1L, Long::sum);
+            countDeltas.merge(targetTeamId, 1L, Long::sum);
+        }
+        teamMemberCountRepository.addAll(countDeltas);
+        return updated;
+    }
+
+    /**
+     * 벌크 연산은 영속성 컨텍스트를 무시하고 DB 에 직접 반영된다.
+     * 이미 로딩된 Member, Team.members 가 옛 값을 보지 않도록 영속성 컨텍스트를 비운다.
+     * 하이버네이트 이벤트도 발생하지 않으므로 변경 카운터를 직접 올리고 바뀐 id 로 무효화 메시지를 보낸다.
+     */
+    private void afterBulkTeamUpdate(Class<?> entityType, Collection<Long> changedIds) {
+        versionCounters.incrementAfterCommit(Member.class);
+        invalidationBus.publishAfterCommit(entityType, changedIds);
+        flushAndClear();
+    }
+
+    /**
+     * 호출한 쪽이 그 사이 바꾼 엔티티가 버려지지 않도록 먼저 flush 하고 비운다.
+     * 비운 뒤에는 호출한 쪽이 들고 있던 엔티티가 준영속이 되므로, 이후 변경은 다시 조회한 엔티티에 해야 반영된다.
+     */
+    private void flushAndClear() {
+        em.flush();
+        em.clear();
+    }
+
+    private IdentifierGenerator idGenerator(Class<?> entityType) {
+        return em.unwrap(SharedSessionContractImplementor.class).getFactory().getMappingMetamodel()
+            .getEntityDescriptor(entityType)
+            .getIdentifierGenerator();
+    }
+
+    // update ... set team_name = (select t.name from team t where t.team_id = ?)
+    private JPQLQuery<String> teamNameOf(Long teamId) {
+        return JPAExpressions
+            .select(team.name)
+            .from(team)
+            .where(team.id.eq(teamId));
+    }
+
+    private BooleanExpression usernameEq(String username) {
+        return isEmpty(username) ? null : member.username.eq(username);
+    }
+
+    private BooleanExpression teamNameIn(String teamName) {
+        return isEmpty(teamName) ? null : member.team.id.in(
+            JPAExpressions
+                .select(team.id)
+                .from(team)
+                .where(team.name.eq(teamName))
+        );
+    }
+
+    private BooleanExpression ageGoe(Integer ageGoe) {
+        return ageGoe == null ? null : member.age.goe(ageGoe);
+    }
+
+    private BooleanExpression ageLoe(Integer ageLoe) {
+        return ageLoe == null ? null : member.age.loe(ageLoe);
+    }
+
+    private BooleanExpression notInTeam(Long teamId) {
+        return member.team.isNull().or(member.team.id.ne(teamId));
+    }
+}
@@ -2,20 +2,42 @@ package study.kimquerydsl.repository;
 
 import static org.springframework.util.ObjectUtils.isEmpty;
 import static org.springframework.util.StringUtils.hasText;
+import static study.kimquerydsl.config.MemberSearchProperties.QUERY_TIMEOUT_HINT;
 import static study.kimquerydsl.entity.QMember.member;
 import static study.kimquerydsl.entity.QTeam.team;
 
 import com.querydsl.core.BooleanBuilder;
+import com.querydsl.core.Tuple;
+import com.querydsl.core.types.Predicate;
+import com.querydsl.core.types.Projections;
 import com.querydsl.core.types.dsl.BooleanExpression;
+import com.querydsl.jpa.impl.JPAQuery;
 import com.querydsl.jpa.impl.JPAQueryFactory;
+import jakarta.persistence.EntityGraph;
 import jakarta.persistence.EntityManager;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.stream.Stream;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.stereotype.Repository;
+import study.kimquerydsl.config.MemberSearchProperties;
+import study.kimquerydsl.dto.MemberDto;
 import study.kimquerydsl.dto.MemberSearchCondition;
 import study.kimquerydsl.dto.MemberTeamDto;
+import study.kimquerydsl.dto.MemberTeamRow;
 import study.kimquerydsl.dto.QMemberTeamDto;
+import study.kimquerydsl.dto.TeamMembersDto;
 import study.kimquerydsl.entity.Member;
+import study.kimquerydsl.repository.support.FetchPlans;
+import study.kimquerydsl.repository.support.InClauses;
+import study.kimquerydsl.repository.support.MultiLoads;
+import study.kimquerydsl.repository.support.ReadOnlyQueries;
+import study.kimquerydsl.repository.support.StreamingGroupBy;
 
 @Repository
 //@RequiredArgsConstructor
@@ -23,10 +45,12 @@ public class MemberJpaRepository {
 
     private final EntityManager em;
     private final JPAQueryFactory queryFactory;
+    private final MemberSearchProperties properties;
 
-    public MemberJpaRepository(EntityManager em) {
+    public MemberJpaRepository(EntityManager em, MemberSearchProperties properties) {
         this.em = em;
         this.queryFactory = new JPAQueryFactory(em);
+        this.properties = properties;
     }
 
     public void save(Member member) {
@@ -38,6 +62,36 @@ public class MemberJpaRepository {
         return Optional.ofNullable(findMember);
     }
 
+    // id 목록 조회 - in 절 길이를 2의 거듭제곱으로 패딩하고 큰 목록은 나눠서 조회, 결과는 입력 순서(중복 제거)
+    // 없는 id 는 결과에서 빠진다.
+    public List<Member> findAllByIds(Collection<Long> ids) {
+        Map<Long, Member> byId = new HashMap<>();
+        for (List<Long> chunk : InClauses.paddedChunks(ids)) {
+            for (Member findMember : queryFactory
+                .selectFrom(member)
+                .where(member.id.in(chunk))
+                .setHint(QUERY_TIMEOUT_HINT, properties.queryTimeout("findAllByIds"))
+                .fetch()) {
+                byId.put(findMember.getId(), findMember);
+            }
+        }
+
+        List<Member> result = new ArrayList<>(byId.size());
+        for (Long id : new LinkedHashSet<>(ids)) {
+            Member findMember = byId.get(id);
+            if (findMember != null) {
+                result.add(findMember);
+            }
+        }
+        return result;
+    }
+
+    // id 목록 조회 (multi-load) - findById 를 반복하는 대신 사용
+    // 영속성 컨텍스트, 2차 캐시에 있는 회원은 그대로 쓰고 나머지만 batch size 단위 in 절로 조회, 결과는 입력 순서
+    public List<Member> findAllById(Collection<Long> ids) {
+        return MultiLoads.findAllById(em, Member.class, ids, properties.getMultiLoadBatchSize());
+    }
+
     public List<Member> findAll() {
         return em.createQuery("select m from Member m", Member.class)
             .getResultList();
@@ -49,6 +103,12 @@ public class MemberJpaRepository {
             .fetch();
     }
 
+    // 읽기 전용 - 영속성 컨텍스트에 스냅샷을 남기지 않는다. (ReadOnlyQueries)
+    public List<Member> findAll_QuerydslReadOnly() {
+        return ReadOnlyQueries.apply(queryFactory.selectFrom(member))
+            .fetch();
+    }
+
     public List<Member> findByUsername(String username) {
         return em.createQuery("select m from Member m where m.username = :username ", Member.class)
             .setParameter("username", username)
@@ -91,13 +151,30 @@ public class MemberJpaRepository {
             .from(member)
             .leftJoin(member.team, team)
             .where(builder)
+            .setHint(QUERY_TIMEOUT_HINT, properties.queryTimeout("searchByBuilder"))
             .fetch();
     }
 
     //회원명, 팀명, 나이(ageGoe, ageLoe)
     public List<MemberTeamDto> search(MemberSearchCondition condition) {
+        return searchQuery(condition)
+            .setHint(QUERY_TIMEOUT_HINT, properties.queryTimeout("search"))
+            .fetch();
+    }
+
+    // 최대 limit 건까지만 조회 (limit + 1 로 조회하면 초과 여부를 카운트 쿼리 없이 알 수 있다)
+    public List<MemberTeamDto> search(MemberSearchCondition condition, int limit) {
+        return searchQuery(condition)
+            .limit(limit)
+            .setHint(QUERY_TIMEOUT_HINT, properties.queryTimeout("search"))
+            .fetch();
+    }
+
+    // 결과를 List 로 모으지 않고 커서로 한 건씩 읽는다. 트랜잭션 안에서 사용하고 반드시 close 해야 한다.
+    // 엔티티가 아닌 불변 행(MemberTeamRow)으로 읽으므로 영속성 컨텍스트에 쌓이지 않는다. (힙 사용량이 결과 건수와 무관)
+    public Stream<MemberTeamRow> searchStream(MemberSearchCondition condition) {
         return queryFactory
-            .select(new QMemberTeamDto(
+            .select(Projections.constructor(MemberTeamRow.class,
                 member.id,
                 member.username,
                 member.age,
@@ -106,14 +183,61 @@ public class MemberJpaRepository {
             ))
             .from(member)
             .leftJoin(member.team, team)
+            .where(searchConditions(condition))
+            .setHint(HibernateHints.HINT_FETCH_SIZE, properties.getStreamFetchSize())
+            .setHint(HibernateHints.HINT_READ_ONLY, true)
+            .setHint(QUERY_TIMEOUT_HINT, properties.queryTimeout("searchStream"))
+            .stream();
+    }
+
+    // 팀 -> 회원 목록. team_id 순으로 읽으면서 팀이 바뀔 때마다 한 팀씩 내보낸다. (searchStream 과 같이 트랜잭션 안에서 사용, close 필수)
+    // 회원이 없는 팀, 팀이 없는 회원은 나오지 않는다.
+    public Stream<TeamMembersDto> streamTeamMembers(MemberSearchCondition condition) {
+        Stream<Tuple> rows = queryFactory
+            .select(team.id, team.name, member.username, member.age)
+            .from(member)
+            .join(member.team, team)
             .where(
                 usernameEq(condition.getUsername()),
                 teamNameEq(condition.getTeamName()),
                 ageGoe(condition.getAgeGoe()),
                 ageLoe(condition.getAgeLoe())
-                //,ageBetween(condition.getAgeLoe(), condition.getAgeGoe())
             )
-            .fetch();
+            .orderBy(team.id.asc(), member.id.asc())
+            .setHint(HibernateHints.HINT_FETCH_SIZE, properties.getStreamFetchSize())
+            .setHint(HibernateHints.HINT_READ_ONLY, true)
+            .setHint(QUERY_TIMEOUT_HINT, properties.queryTimeout("streamTeamMembers"))
+            .stream();
+
+        return StreamingGroupBy.groupBy(rows,
+            row -> row.get(team.id),
+            row -> new TeamMembersDto(row.get(team.id), row.get(team.name)),
+            (group, row) -> group.getMembers().add(new MemberDto(row.get(member.username), row.get(member.age))));
+    }
+
+    private JPAQuery<MemberTeamDto> searchQuery(MemberSearchCondition condition) {
+        return queryFactory
+            .select(new QMemberTeamDto(
+                member.id,
+                member.username,
+                member.age,
+                team.id,
+                team.name
+            ))
+            .from(member)
+            .leftJoin(member.team, team)
+            .where(searchConditions(condition));
+    }
+
+    // search, searchStream 공통 조건 (null 은 무시된다)
+    private Predicate[] searchConditions(MemberSearchCondition condition) {
+        return new Predicate[]{
+            usernameEq(condition.getUsername()),
+            teamNameEq(condition.getTeamName()),
+            ageGoe(condition.getAgeGoe()),
+            ageLoe(condition.getAgeLoe())
+            //,ageBetween(condition.getAgeLoe(), condition.getAgeGoe())
+        };
     }
 
     private BooleanExpression usernameEq(String username) {
@@ -139,6 +263,22 @@ public class MemberJpaRepository {
 
     // where 파라미터 방식은 이런식으로 재사용 가능
     public List<Member> findMember(MemberSearchCondition condition) {
+        return findMember(condition, null);
+    }
+
+    // fetchPlan: 같은 SQL 로 함께 조회할 연관관계 (null 이면 엔티티 매핑대로 team 은 지연 로딩)
+    public List<Member> findMember(MemberSearchCondition condition, EntityGraph<Member> fetchPlan) {
+        return FetchPlans.apply(findMemberQuery(condition), fetchPlan)
+            .fetch();
+    }
+
+    // 조회 전용 화면 등 수정하지 않는 곳에서 사용 (fetchPlan 으로 함께 조회한 연관 엔티티도 읽기 전용)
+    public List<Member> findMemberReadOnly(MemberSearchCondition condition, EntityGraph<Member> fetchPlan) {
+        return ReadOnlyQueries.apply(FetchPlans.apply(findMemberQuery(condition), fetchPlan))
+            .fetch();
+    }
+
+    private JPAQuery<Member> findMemberQuery(MemberSearchCondition condition) {
         return queryFactory
             .selectFrom(member)
             .leftJoin(member.team, team)
@@ -148,6 +288,27 @@ public class MemberJpaRepository {
                 ageGoe(condition.getAgeGoe()),
                 ageLoe(condition.getAgeLoe())
             )
-            .fetch();
+            .setHint(QUERY_TIMEOUT_HINT, properties.queryTimeout("findMember"));
+    }
+
+    // 팀 평균 나이보다 나이가 많은 회원
+    // 상관 서브쿼리(회원마다 팀 평균 계산) 대신 윈도우 함수로 한 번 읽으면서 팀 평균을 같이 구하고,
+    // 윈도우 함수 결과는 같은 select 의 where 에서 쓸 수 없으므로 파생 테이블로 감싸서 DB 에서 거른다.
+    // (Querydsl JPQL 은 from 절 서브쿼리를 만들 수 없어서 HQL 로 작성)
+    public List<MemberTeamDto> findOlderThanTeamAverage() {
+        return em.createQuery("""
+                select new study.kimquerydsl.dto.MemberTeamDto(t.memberId, t.username, t.age, t.teamId, t.teamName)
+                from (
+                    select m.id as memberId, m.username as username, m.age as age,
+                           tm.id as teamId, tm.name as teamName,
+                           function('avg_over', m.age, tm.id) as teamAvgAge
+                    from Member m
+                    join m.team tm
+                ) t
+                where t.age > t.teamAvgAge
+                order by t.memberId
+                """, MemberTeamDto.class)
+            .setHint(QUERY_TIMEOUT_HINT, properties.queryTimeout("findOlderThanTeamAverage"))
+            .getResultList();
     }
-}
\ No newline at end of file
+}
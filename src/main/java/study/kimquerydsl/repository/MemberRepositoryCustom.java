@@ -10,4 +10,6 @@ public interface MemberRepositoryCustom {
     List<MemberTeamDto> search(MemberSearchCondition condition);
     Page<MemberTeamDto> searchPageSimple(MemberSearchCondition condition, Pageable pageable);
     Page<MemberTeamDto> searchPageComplex(MemberSearchCondition condition, Pageable pageable);
+    Page<MemberTeamDto> searchPageNoJoin(MemberSearchCondition condition, Pageable pageable);
+    List<MemberTeamDto> searchFullText(String text, int limit);
 }
\ No newline at end of file
@@ -1,33 +1,51 @@
 package study.kimquerydsl.repository;
 
 import static org.springframework.util.ObjectUtils.isEmpty;
+import static study.kimquerydsl.config.MemberSearchProperties.QUERY_TIMEOUT_HINT;
 import static study.kimquerydsl.entity.QMember.member;
 import static study.kimquerydsl.entity.QTeam.team;
 
 import com.querydsl.core.QueryResults;
+import com.querydsl.core.types.OrderSpecifier;
 import com.querydsl.core.types.dsl.BooleanExpression;
+import com.querydsl.core.types.dsl.ComparableExpressionBase;
 import com.querydsl.jpa.JPQLQuery;
 import com.querydsl.jpa.impl.JPAQuery;
 import com.querydsl.jpa.impl.JPAQueryFactory;
 import jakarta.persistence.EntityManager;
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 import org.springframework.data.jpa.repository.support.QuerydslRepositorySupport;
 import org.springframework.data.support.PageableExecutionUtils;
+import study.kimquerydsl.config.MemberSearchProperties;
 import study.kimquerydsl.dto.MemberSearchCondition;
 import study.kimquerydsl.dto.MemberTeamDto;
 import study.kimquerydsl.dto.QMemberTeamDto;
 import study.kimquerydsl.entity.Member;
+import study.kimquerydsl.repository.support.InClauses;
+import study.kimquerydsl.search.MemberSearchIndex;
 
 public class MemberRepositoryImpl extends QuerydslRepositorySupport implements MemberRepositoryCustom {
 
     private final JPAQueryFactory queryFactory;
+    private final MemberSearchProperties properties;
+    private final TeamMemberCountRepository teamMemberCountRepository;
+    private final MemberSearchIndex memberSearchIndex;
 
-    public MemberRepositoryImpl(EntityManager em) {
+    public MemberRepositoryImpl(EntityManager em, MemberSearchProperties properties,
+        TeamMemberCountRepository teamMemberCountRepository, MemberSearchIndex memberSearchIndex) {
         super(Member.class);
         this.queryFactory = new JPAQueryFactory(em);
+        this.properties = properties;
+        this.teamMemberCountRepository = teamMemberCountRepository;
+        this.memberSearchIndex = memberSearchIndex;
     }
 
     @Override
@@ -91,6 +109,7 @@ public class MemberRepositoryImpl extends QuerydslRepositorySupport implements M
             )
             .offset(pageable.getOffset())
             .limit(pageable.getPageSize())
+            .setHint(QUERY_TIMEOUT_HINT, properties.queryTimeout("searchPageSimple"))
             .fetchResults();
 
         List<MemberTeamDto> content = results.getResults();
@@ -146,6 +165,7 @@ public class MemberRepositoryImpl extends QuerydslRepositorySupport implements M
             )
             .offset(pageable.getOffset())
             .limit(pageable.getPageSize())
+            .setHint(QUERY_TIMEOUT_HINT, properties.queryTimeout("searchPageComplex"))
             .fetch();
 
         JPAQuery<Member> countQuery = queryFactory
@@ -157,11 +177,108 @@ public class MemberRepositoryImpl extends QuerydslRepositorySupport implements M
                 teamNameEq(condition.getTeamName()),
                 ageGoe(condition.getAgeGoe()),
                 ageLoe(condition.getAgeLoe())
-            );
+            )
+            .setHint(QUERY_TIMEOUT_HINT, properties.queryTimeout("searchPageComplex"));
 
         //return new PageImpl<>(content, pageable, total);
-        return PageableExecutionUtils.getPage(content, pageable, countQuery::fetchCount);// CountQuery 최적화
+        // CountQuery 최적화 + 조건이 없거나 팀명만 있으면 팀별 회원 수 테이블로 카운트
+        return PageableExecutionUtils.getPage(content, pageable,
+            () -> teamMemberCountRepository.tryCount(condition).orElseGet(countQuery::fetchCount));
+
+    }
+
+    // 비정규화 컬럼(member.teamName) 사용, team 조인 없이 필터/정렬/프로젝션
+    @Override
+    public Page<MemberTeamDto> searchPageNoJoin(MemberSearchCondition condition, Pageable pageable) {
+        List<MemberTeamDto> content = queryFactory
+            .select(new QMemberTeamDto(
+                member.id,
+                member.username,
+                member.age,
+                member.team.id, // FK 컬럼만 읽으므로 조인하지 않는다.
+                member.teamName
+            ))
+            .from(member)
+            .where(
+                usernameEq(condition.getUsername()),
+                memberTeamNameEq(condition.getTeamName()),
+                ageGoe(condition.getAgeGoe()),
+                ageLoe(condition.getAgeLoe())
+            )
+            .orderBy(noJoinOrders(pageable.getSort()))
+            .offset(pageable.getOffset())
+            .limit(pageable.getPageSize())
+            .setHint(QUERY_TIMEOUT_HINT, properties.queryTimeout("searchPageNoJoin"))
+            .fetch();
+
+        JPAQuery<Long> countQuery = queryFactory
+            .select(member.count())
+            .from(member)
+            .where(
+                usernameEq(condition.getUsername()),
+                memberTeamNameEq(condition.getTeamName()),
+                ageGoe(condition.getAgeGoe()),
+                ageLoe(condition.getAgeLoe())
+            )
+            .setHint(QUERY_TIMEOUT_HINT, properties.queryTimeout("searchPageNoJoin"));
+
+        return PageableExecutionUtils.getPage(content, pageable,
+            () -> teamMemberCountRepository.tryCount(condition).orElseGet(() -> countQuery.fetchOne()));
+    }
+
+    // MemberTeamDto 속성명 기준 정렬
+    private OrderSpecifier<?>[] noJoinOrders(Sort sort) {
+        List<OrderSpecifier<?>> orders = new ArrayList<>();
+        for (Sort.Order order : sort) {
+            ComparableExpressionBase<?> path = switch (order.getProperty()) {
+                case "memberId" -> member.id;
+                case "username" -> member.username;
+                case "age" -> member.age;
+                case "teamId" -> member.team.id;
+                case "teamName" -> member.teamName;
+                default -> throw new UnsupportedSortException(order.getProperty());
+            };
+            orders.add(order.isAscending() ? path.asc() : path.desc());
+        }
+        return orders.toArray(new OrderSpecifier<?>[0]);
+    }
+
+    private BooleanExpression memberTeamNameEq(String teamName) {
+        return isEmpty(teamName) ? null : member.teamName.eq(teamName);
+    }
+
+    // 전문 검색 인덱스에서 관련도 순 id 를 구하고, 한 번의 in 쿼리로 읽어서 관련도 순서대로 반환
+    @Override
+    public List<MemberTeamDto> searchFullText(String text, int limit) {
+        List<Long> ids = memberSearchIndex.search(text, limit);
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+
+        Map<Long, MemberTeamDto> byId = new HashMap<>();
+        for (List<Long> chunk : InClauses.paddedChunks(ids)) {
+            for (MemberTeamDto dto : queryFactory
+                .select(new QMemberTeamDto(
+                    member.id,
+                    member.username,
+                    member.age,
+                    team.id,
+                    team.name
+                ))
+                .from(member)
+                .leftJoin(member.team, team)
+                .where(member.id.in(chunk))
+                .setHint(QUERY_TIMEOUT_HINT, properties.queryTimeout("searchFullText"))
+                .fetch()) {
+                byId.put(dto.getMemberId(), dto);
+            }
+        }
 
+        // 인덱스에 반영이 늦어 이미 삭제된 회원은 빠진다.
+        return ids.stream()
+            .map(byId::get)
+            .filter(Objects::nonNull)
+            .toList();
     }
 
     private BooleanExpression usernameEq(String username) {
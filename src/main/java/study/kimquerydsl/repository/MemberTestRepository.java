@@ -6,6 +6,7 @@ import static study.kimquerydsl.entity.QTeam.team;
 
 import com.querydsl.core.types.dsl.BooleanExpression;
 import com.querydsl.jpa.impl.JPAQuery;
+import jakarta.persistence.EntityGraph;
 import java.util.List;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
@@ -13,13 +14,17 @@ import org.springframework.data.support.PageableExecutionUtils;
 import org.springframework.stereotype.Repository;
 import study.kimquerydsl.dto.MemberSearchCondition;
 import study.kimquerydsl.entity.Member;
+import study.kimquerydsl.repository.support.FetchPlans;
 import study.kimquerydsl.repository.support.Querydsl4RepositorySupport;
 
 @Repository
 public class MemberTestRepository extends Querydsl4RepositorySupport {
 
-    public MemberTestRepository() {
-        super(Member.class);
+    private final TeamMemberCountRepository teamMemberCountRepository;
+
+    public MemberTestRepository(TeamMemberCountRepository teamMemberCountRepository) {
+        super(member);
+        this.teamMemberCountRepository = teamMemberCountRepository;
     }
 
     public List<Member> basicSelect() {
@@ -33,8 +38,20 @@ public class MemberTestRepository extends Querydsl4RepositorySupport {
             .fetch();
     }
 
+    // 읽기 전용 (스냅샷 없음)
+    public List<Member> basicSelectReadOnly() {
+        return selectFromReadOnly(member)
+            .fetch();
+    }
+
     // QuerydslRepositorySupport 이지만, select()로 시작할 수 있음
     public Page<Member> searchPageByApplyPage(MemberSearchCondition condition, Pageable pageable) {
+        return searchPageByApplyPage(condition, pageable, null);
+    }
+
+    // fetchPlan 은 컨텐츠 쿼리에만 적용 (ex. namedFetchPlan(Member.GRAPH_TEAM), fetchPlan("team"))
+    public Page<Member> searchPageByApplyPage(MemberSearchCondition condition, Pageable pageable,
+        EntityGraph<Member> fetchPlan) {
         JPAQuery<Member> query = selectFrom(member)
             .leftJoin(member.team, team)
             .where(
@@ -44,7 +61,7 @@ public class MemberTestRepository extends Querydsl4RepositorySupport {
                 ageLoe(condition.getAgeLoe())
             );
 
-        List<Member> content = getQuerydsl().applyPagination(pageable, query)
+        List<Member> content = getQuerydsl().applyPagination(pageable, FetchPlans.apply(query.clone(), fetchPlan))
             .fetch();
 
         return PageableExecutionUtils.getPage(content, pageable, query::fetchCount);
@@ -52,7 +69,26 @@ public class MemberTestRepository extends Querydsl4RepositorySupport {
 
     // searchPageByApplyPage() 와 동일
     public Page<Member> applyPagination(MemberSearchCondition condition, Pageable pageable) {
-        return applyPagination(pageable, contentQuery -> contentQuery
+        return applyPagination(condition, pageable, null);
+    }
+
+    public Page<Member> applyPagination(MemberSearchCondition condition, Pageable pageable,
+        EntityGraph<Member> fetchPlan) {
+        return applyPagination(pageable, fetchPlan, contentQuery -> contentQuery
+            .selectFrom(member)
+            .leftJoin(member.team, team)
+            .where(
+                usernameEq(condition.getUsername()),
+                teamNameEq(condition.getTeamName()),
+                ageGoe(condition.getAgeGoe()),
+                ageLoe(condition.getAgeLoe())
+            )
+        );
+    }
+
+    // 컨텐츠 쿼리만 읽기 전용
+    public Page<Member> applyReadOnlyPagination(MemberSearchCondition condition, Pageable pageable) {
+        return applyReadOnlyPagination(pageable, contentQuery -> contentQuery
             .selectFrom(member)
             .leftJoin(member.team, team)
             .where(
@@ -89,6 +125,32 @@ public class MemberTestRepository extends Querydsl4RepositorySupport {
         );
     }
 
+    // 카운트 플래너: 조건이 없거나 팀명만 있으면 팀별 회원 수 테이블, 그 외에는 카운트 쿼리
+    public Page<Member> applyPagination3(MemberSearchCondition condition, Pageable pageable) {
+        return applyPagination(
+            pageable,
+            contentQuery -> contentQuery
+                .selectFrom(member)
+                .leftJoin(member.team, team)
+                .where(
+                    usernameEq(condition.getUsername()),
+                    teamNameEq(condition.getTeamName()),
+                    ageGoe(condition.getAgeGoe()),
+                    ageLoe(condition.getAgeLoe())
+                ),
+            () -> teamMemberCountRepository.tryCount(condition).orElseGet(() -> select(member.count())
+                .from(member)
+                .leftJoin(member.team, team)
+                .where(
+                    usernameEq(condition.getUsername()),
+                    teamNameEq(condition.getTeamName()),
+                    ageGoe(condition.getAgeGoe()),
+                    ageLoe(condition.getAgeLoe())
+                )
+                .fetchOne())
+        );
+    }
+
     private BooleanExpression usernameEq(String username) {
         return isEmpty(username) ? null : member.username.eq(username);
     }
@@ -0,0 +1,97 @@
+package study.kimquerydsl.repository;
+
+import static org.springframework.util.ObjectUtils.isEmpty;
+import static study.kimquerydsl.entity.QTeam.team;
+import static study.kimquerydsl.entity.QTeamMemberCount.teamMemberCount;
+
+import com.querydsl.jpa.JPAExpressions;
+import com.querydsl.jpa.impl.JPAQueryFactory;
+import jakarta.persistence.EntityManager;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.OptionalLong;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+import study.kimquerydsl.dto.MemberSearchCondition;
+import study.kimquerydsl.entity.TeamMemberCount;
+
+/**
+ * 팀별 회원 수 테이블 관리와 카운트 쿼리 플래너
+ */
+@Repository
+public class TeamMemberCountRepository {
+
+    // teamId 의 slot 행 회원 수에 delta 를 더한다. (행이 없으면 만든다)
+    public static final String MERGE_SQL = """
+        merge into team_member_count c
+        using (select cast(? as bigint) team_id, cast(? as int) slot, cast(? as bigint) delta) d
+        on (c.team_id = d.team_id and c.slot = d.slot)
+        when matched then update set c.member_count = c.member_count + d.delta
+        when not matched then insert (team_id, slot, member_count) values (d.team_id, d.slot, d.delta)
+        """;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final JPAQueryFactory queryFactory;
+
+    public TeamMemberCountRepository(EntityManager em, JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.queryFactory = new JPAQueryFactory(em);
+    }
+
+    /**
+     * 조건이 없거나 팀명 조건만 있으면 팀별 회원 수 테이블로 답한다.
+     * 그 외 조건은 empty 를 반환하고, 호출하는 쪽에서 카운트 쿼리를 실행한다.
+     * 조건 유무는 검색 조건(usernameEq, teamNameEq)과 같은 기준(isEmpty)으로 본다. 공백 문자열도 조건이다.
+     */
+    public OptionalLong tryCount(MemberSearchCondition condition) {
+        if (!isEmpty(condition.getUsername()) || condition.getAgeGoe() != null || condition.getAgeLoe() != null) {
+            return OptionalLong.empty();
+        }
+
+        Long count = queryFactory
+            .select(teamMemberCount.memberCount.sum())
+            .from(teamMemberCount)
+            .where(!isEmpty(condition.getTeamName())
+                ? teamMemberCount.teamId.in(
+                    JPAExpressions
+                        .select(team.id)
+                        .from(team)
+                        .where(team.name.eq(condition.getTeamName())))
+                : null)
+            .fetchOne();
+        return OptionalLong.of(count == null ? 0 : count);
+    }
+
+    // 팀 id(null 이면 팀 없음) -> 증감. 현재 스레드의 slot 행에 더한다.
+    // 여러 트랜잭션이 같은 팀 행들을 서로 다른 순서로 잠그지 않도록(교착 방지) team_id 순서로 반영한다.
+    public void addAll(Map<Long, Long> deltas) {
+        int slot = TeamMemberCount.currentSlot();
+        List<Object[]> args = deltas.entrySet().stream()
+            .filter(entry -> entry.getValue() != 0)
+            .map(entry -> new Object[]{
+                entry.getKey() == null ? TeamMemberCount.NO_TEAM : entry.getKey(),
+                slot,
+                entry.getValue()})
+            .sorted(Comparator.comparingLong(arg -> (Long) arg[0]))
+            .toList();
+        if (!args.isEmpty()) {
+            jdbcTemplate.batchUpdate(MERGE_SQL, args);
+        }
+    }
+
+    /**
+     * member 테이블 기준으로 다시 계산한다. 나뉘어 있던 slot 행은 slot 0 한 행으로 합쳐진다.
+     * 기동 시 자동으로 돌리지 않는다. 여러 노드가 동시에 돌리거나, 도중에 들어온 가입/탈퇴가 섞이면 다시 어긋날 수 있으므로
+     * 데이터 적재 후(DatasetGenerator)나 관리 API(POST /v1/teams/member-counts/rebuild)로 회원 쓰기를 멈춘 상태에서 한 노드에서만 실행한다.
+     *
+     * @return 다시 만든 팀 행 수
+     */
+    @Transactional
+    public int rebuild() {
+        jdbcTemplate.update("delete from team_member_count");
+        return jdbcTemplate.update("insert into team_member_count (team_id, slot, member_count) "
+            + "select coalesce(team_id, 0), 0, count(*) from member group by coalesce(team_id, 0)");
+    }
+}
@@ -0,0 +1,12 @@
+package study.kimquerydsl.repository;
+
+/**
+ * 정렬할 수 없는 속성으로 요청한 경우 (클라이언트 입력 오류, 400 으로 응답)
+ * IllegalArgumentException 을 상속하지 않아서 리포지토리 예외 변환(InvalidDataAccessApiUsageException)을 거치지 않고 그대로 나간다.
+ */
+public class UnsupportedSortException extends RuntimeException {
+
+    public UnsupportedSortException(String property) {
+        super("정렬할 수 없는 속성입니다: " + property);
+    }
+}
@@ -0,0 +1,32 @@
+package study.kimquerydsl.repository.support;
+
+import com.querydsl.jpa.impl.JPAQuery;
+import jakarta.persistence.EntityGraph;
+import jakarta.persistence.EntityManager;
+import org.hibernate.jpa.SpecHints;
+
+/**
+ * 엔티티 그래프(fetch plan)를 load graph 힌트로 적용
+ * - 그래프에 포함된 연관관계는 같은 SQL 에서 함께 조회하고, 나머지는 엔티티 매핑(LAZY/EAGER)을 따른다.
+ * - 호출하는 쪽에서 필요한 연관관계만 고를 수 있어서 fetch join 버전 메서드를 따로 만들 필요가 없다.
+ */
+public final class FetchPlans {
+
+    private FetchPlans() {
+    }
+
+    // fetchPlan 이 null 이면 힌트를 적용하지 않는다.
+    public static <Q extends JPAQuery<?>> Q apply(Q query, EntityGraph<?> fetchPlan) {
+        if (fetchPlan != null) {
+            query.setHint(SpecHints.HINT_SPEC_LOAD_GRAPH, fetchPlan);
+        }
+        return query;
+    }
+
+    // 동적 엔티티 그래프 ex) FetchPlans.of(em, Member.class, "team")
+    public static <T> EntityGraph<T> of(EntityManager em, Class<T> rootType, String... attributeNames) {
+        EntityGraph<T> graph = em.createEntityGraph(rootType);
+        graph.addAttributeNodes(attributeNames);
+        return graph;
+    }
+}
@@ -0,0 +1,48 @@
+package study.kimquerydsl.repository.support;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
+
+/**
+ * in 절 파라미터 패딩 / 분할
+ * - 목록 길이마다 in (?, ?, ...) SQL 이 달라지면 쿼리 플랜 캐시와 DB statement 캐시가 넘친다.
+ * - 길이를 2의 거듭제곱으로 맞추면(마지막 값을 반복) SQL 종류가 log2(MAX_SIZE) 개로 줄어든다.
+ * - MAX_SIZE 보다 긴 목록은 MAX_SIZE 개씩 나눈다.
+ */
+public final class InClauses {
+
+    public static final int MAX_SIZE = 512;
+
+    private InClauses() {
+    }
+
+    // 중복 제거(입력 순서 유지) 후 MAX_SIZE 개씩 나누고, 각 묶음을 2의 거듭제곱 길이로 패딩
+    public static <T> List<List<T>> paddedChunks(Collection<T> values) {
+        List<T> distinct = new ArrayList<>(new LinkedHashSet<>(values));
+        List<List<T>> chunks = new ArrayList<>();
+        for (int from = 0; from < distinct.size(); from += MAX_SIZE) {
+            chunks.add(pad(distinct.subList(from, Math.min(from + MAX_SIZE, distinct.size()))));
+        }
+        return chunks;
+    }
+
+    public static <T> List<T> pad(List<T> values) {
+        if (values.isEmpty()) {
+            return values;
+        }
+        int size = paddedSize(values.size());
+        List<T> padded = new ArrayList<>(size);
+        padded.addAll(values);
+        T last = values.get(values.size() - 1);
+        while (padded.size() < size) {
+            padded.add(last);
+        }
+        return padded;
+    }
+
+    static int paddedSize(int size) {
+        return size <= 1 ? size : Integer.highestOneBit(size - 1) << 1;
+    }
+}
@@ -0,0 +1,44 @@
+package study.kimquerydsl.repository.support;
+
+import jakarta.persistence.EntityManager;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
+import org.hibernate.Session;
+
+/**
+ * id 목록으로 엔티티 한꺼번에 조회 (하이버네이트 multi-load)
+ * - 영속성 컨텍스트, 2차 캐시에 있는 엔티티는 쿼리 없이 가져오고 없는 id 만 batchSize 개씩 in 절로 조회한다.
+ * - 결과는 입력 순서(중복 제거), 없는 id 와 삭제된 엔티티는 빠진다.
+ * - 쿼리 결과를 항상 DB 에서 새로 읽어야 하면 MemberJpaRepository.findAllByIds 처럼 Querydsl 로 조회한다.
+ */
+public final class MultiLoads {
+
+    public static final int DEFAULT_BATCH_SIZE = 100;
+
+    private MultiLoads() {
+    }
+
+    public static <T> List<T> findAllById(EntityManager em, Class<T> entityClass, Collection<?> ids, int batchSize) {
+        if (ids.isEmpty()) {
+            return new ArrayList<>();
+        }
+        List<?> distinctIds = new ArrayList<>(new LinkedHashSet<>(ids));
+        List<T> loaded = em.unwrap(Session.class)
+            .byMultipleIds(entityClass)
+            .withBatchSize(batchSize)
+            .enableSessionCheck(true)
+            .enableOrderedReturn(true)
+            .enableReturnOfDeletedEntities(false)
+            .multiLoad(distinctIds);
+
+        List<T> result = new ArrayList<>(loaded.size());
+        for (T entity : loaded) {
+            if (entity != null) {
+                result.add(entity);
+            }
+        }
+        return result;
+    }
+}
@@ -6,9 +6,12 @@ import com.querydsl.core.types.dsl.PathBuilder;
 import com.querydsl.jpa.impl.JPAQuery;
 import com.querydsl.jpa.impl.JPAQueryFactory;
 import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityGraph;
 import jakarta.persistence.EntityManager;
+import java.util.Collection;
 import java.util.List;
 import java.util.function.Function;
+import java.util.function.LongSupplier;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
@@ -31,6 +34,7 @@ import org.springframework.util.Assert;
 public abstract class Querydsl4RepositorySupport {
 
     private final Class domainClass;
+    private final EntityPath<?> entityPath;
     private Querydsl querydsl;
     private EntityManager entityManager;
     private JPAQueryFactory queryFactory;
@@ -38,6 +42,14 @@ public abstract class Querydsl4RepositorySupport {
     public Querydsl4RepositorySupport(Class<?> domainClass) {
         Assert.notNull(domainClass, "Domain class must not be null!");
         this.domainClass = domainClass;
+        this.entityPath = null;
+    }
+
+    // Q타입을 직접 넘기면 리플렉션(SimpleEntityPathResolver)으로 찾지 않는다. (AOT, 네이티브 이미지 대응)
+    public Querydsl4RepositorySupport(EntityPath<?> entityPath) {
+        Assert.notNull(entityPath, "EntityPath must not be null!");
+        this.domainClass = entityPath.getType();
+        this.entityPath = entityPath;
     }
 
     @Autowired
@@ -45,10 +57,7 @@ public abstract class Querydsl4RepositorySupport {
         Assert.notNull(entityManager, "EntityManager must not be null!");
 
         // Sort 버그 해결
-        JpaEntityInformation entityInformation =
-            JpaEntityInformationSupport.getEntityInformation(domainClass, entityManager);
-        SimpleEntityPathResolver resolver = SimpleEntityPathResolver.INSTANCE;
-        EntityPath path = resolver.createPath(entityInformation.getJavaType());
+        EntityPath path = entityPath != null ? entityPath : resolvePath(entityManager);
 
         this.entityManager = entityManager;
         this.querydsl = new Querydsl(
@@ -58,6 +67,13 @@ public abstract class Querydsl4RepositorySupport {
         this.queryFactory = new JPAQueryFactory(entityManager);
     }
 
+    private EntityPath<?> resolvePath(EntityManager entityManager) {
+        JpaEntityInformation entityInformation =
+            JpaEntityInformationSupport.getEntityInformation(domainClass, entityManager);
+        SimpleEntityPathResolver resolver = SimpleEntityPathResolver.INSTANCE;
+        return resolver.createPath(entityInformation.getJavaType());
+    }
+
     @PostConstruct
     public void validate() {
         Assert.notNull(entityManager, "EntityManager must not be null!");
@@ -85,6 +101,15 @@ public abstract class Querydsl4RepositorySupport {
         return getQueryFactory().selectFrom(from);
     }
 
+    // 읽기 전용 조회 - 엔티티 스냅샷 없음, 쿼리 전 자동 flush 없음 (ReadOnlyQueries)
+    protected <T> JPAQuery<T> selectReadOnly(Expression<T> expr) {
+        return ReadOnlyQueries.apply(select(expr));
+    }
+
+    protected <T> JPAQuery<T> selectFromReadOnly(EntityPath<T> from) {
+        return ReadOnlyQueries.apply(selectFrom(from));
+    }
+
     protected <T> Page<T> applyPagination(Pageable pageable,
         Function<JPAQueryFactory, JPAQuery> contentQuery) {
 
@@ -95,6 +120,50 @@ public abstract class Querydsl4RepositorySupport {
         return PageableExecutionUtils.getPage(content, pageable, jpaQuery::fetchCount);
     }
 
+    // id 목록으로 도메인 엔티티 조회 - 영속성 컨텍스트, 2차 캐시에 없는 id 만 batchSize 개씩 조회 (입력 순서)
+    public <T> List<T> findAllById(Collection<?> ids) {
+        return findAllById(ids, MultiLoads.DEFAULT_BATCH_SIZE);
+    }
+
+    public <T> List<T> findAllById(Collection<?> ids, int batchSize) {
+        return MultiLoads.findAllById(getEntityManager(), (Class<T>) domainClass, ids, batchSize);
+    }
+
+    // 이름 있는 엔티티 그래프 (@NamedEntityGraph)
+    public <T> EntityGraph<T> namedFetchPlan(String graphName) {
+        return (EntityGraph<T>) getEntityManager().getEntityGraph(graphName);
+    }
+
+    // 동적 엔티티 그래프 - 도메인 클래스 기준으로 attributeNames 연관관계를 함께 조회
+    public <T> EntityGraph<T> fetchPlan(String... attributeNames) {
+        return FetchPlans.of(getEntityManager(), (Class<T>) domainClass, attributeNames);
+    }
+
+    // fetch plan(load graph)을 컨텐츠 쿼리에만 적용한다. 카운트 쿼리는 그래프 없이 실행
+    protected <T> Page<T> applyPagination(Pageable pageable,
+        EntityGraph<?> fetchPlan,
+        Function<JPAQueryFactory, JPAQuery> contentQuery) {
+
+        JPAQuery jpaQuery = contentQuery.apply(getQueryFactory());
+        JPAQuery jpaContentQuery = FetchPlans.apply(jpaQuery.clone(), fetchPlan);
+        List<T> content = getQuerydsl().applyPagination(pageable, jpaContentQuery)
+            .fetch();
+
+        return PageableExecutionUtils.getPage(content, pageable, jpaQuery::fetchCount);
+    }
+
+    // 컨텐츠 쿼리를 읽기 전용으로 실행
+    protected <T> Page<T> applyReadOnlyPagination(Pageable pageable,
+        Function<JPAQueryFactory, JPAQuery> contentQuery) {
+
+        JPAQuery jpaQuery = contentQuery.apply(getQueryFactory());
+        JPAQuery jpaContentQuery = ReadOnlyQueries.apply(jpaQuery.clone());
+        List<T> content = getQuerydsl().applyPagination(pageable, jpaContentQuery)
+            .fetch();
+
+        return PageableExecutionUtils.getPage(content, pageable, jpaQuery::fetchCount);
+    }
+
     protected <T> Page<T> applyPagination(Pageable pageable,
         Function<JPAQueryFactory, JPAQuery> contentQuery,
         Function<JPAQueryFactory, JPAQuery> countQuery) {
@@ -107,4 +176,16 @@ public abstract class Querydsl4RepositorySupport {
 
         return PageableExecutionUtils.getPage(content, pageable, countResult::fetchCount);
     }
-}
\ No newline at end of file
+
+    // 카운트를 쿼리 대신 다른 방법(ex. 미리 계산된 집계 테이블)으로 구할 때
+    protected <T> Page<T> applyPagination(Pageable pageable,
+        Function<JPAQueryFactory, JPAQuery> contentQuery,
+        LongSupplier totalSupplier) {
+
+        JPAQuery jpaContentQuery = contentQuery.apply(getQueryFactory());
+        List<T> content = getQuerydsl().applyPagination(pageable, jpaContentQuery)
+            .fetch();
+
+        return PageableExecutionUtils.getPage(content, pageable, totalSupplier);
+    }
+}
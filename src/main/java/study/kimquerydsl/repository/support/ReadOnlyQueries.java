@@ -0,0 +1,24 @@
+package study.kimquerydsl.repository.support;
+
+import com.querydsl.jpa.impl.JPAQuery;
+import org.hibernate.FlushMode;
+import org.hibernate.jpa.HibernateHints;
+
+/**
+ * 읽기 전용 조회 모드
+ * - read-only 힌트: 조회한 엔티티의 스냅샷(변경 감지용 복사본)을 만들지 않는다. 메모리가 절반 가까이 줄고 flush 때 비교 비용도 없다.
+ *   대신 엔티티를 수정해도 DB 에 반영되지 않는다. (이미 영속성 컨텍스트에 있던 엔티티는 원래 상태 그대로)
+ * - flush mode MANUAL: 쿼리 전에 자동 flush 하지 않는다. 같은 트랜잭션에서 아직 flush 하지 않은 변경은 결과에 보이지 않는다.
+ * - 화면 출력, 내보내기처럼 조회만 하는 곳에서 엔티티를 반환할 때 사용한다. (readOnly 트랜잭션이면 스프링이 세션 전체에 같은 설정을 한다)
+ */
+public final class ReadOnlyQueries {
+
+    private ReadOnlyQueries() {
+    }
+
+    public static <Q extends JPAQuery<?>> Q apply(Q query) {
+        query.setHint(HibernateHints.HINT_READ_ONLY, true);
+        query.setHint(HibernateHints.HINT_FLUSH_MODE, FlushMode.MANUAL);
+        return query;
+    }
+}
@@ -0,0 +1,60 @@
+package study.kimquerydsl.repository.support;
+
+import java.util.Iterator;
+import java.util.Objects;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * GroupBy.groupBy(key).as(list(...)) 의 스트리밍 버전
+ * - Querydsl GroupBy 는 결과 전체를 Map 으로 모은 다음 돌려주지만, 여기서는 키 순으로 정렬된 행을 읽으면서
+ *   키가 바뀌는 순간 앞 그룹을 내보낸다. (메모리에는 현재 그룹 하나만 남는다)
+ * - 같은 키의 행이 연속으로 오도록 쿼리에서 키로 정렬해야 한다. 떨어져 있으면 그룹이 나뉜다.
+ * - 반환 스트림을 close 하면 원본 스트림(커서)도 닫힌다.
+ */
+public final class StreamingGroupBy {
+
+    private StreamingGroupBy() {
+    }
+
+    /**
+     * @param rows     키 순으로 정렬된 행
+     * @param key      행의 그룹 키
+     * @param newGroup 그룹의 첫 행으로 그룹 생성
+     * @param add      그룹에 행 추가 (첫 행 포함)
+     */
+    public static <R, K, G> Stream<G> groupBy(Stream<R> rows, Function<? super R, K> key,
+        Function<? super R, G> newGroup, BiConsumer<G, ? super R> add) {
+        Iterator<R> iterator = rows.iterator();
+        Spliterator<G> groups = new Spliterators.AbstractSpliterator<>(Long.MAX_VALUE, Spliterator.ORDERED) {
+
+            private R next;
+            private boolean started;
+
+            @Override
+            public boolean tryAdvance(Consumer<? super G> action) {
+                if (!started) {
+                    started = true;
+                    next = iterator.hasNext() ? iterator.next() : null;
+                }
+                if (next == null) {
+                    return false;
+                }
+                K groupKey = key.apply(next);
+                G group = newGroup.apply(next);
+                do {
+                    add.accept(group, next);
+                    next = iterator.hasNext() ? iterator.next() : null;
+                } while (next != null && Objects.equals(groupKey, key.apply(next)));
+                action.accept(group);
+                return true;
+            }
+        };
+        return StreamSupport.stream(groups, false).onClose(rows::close);
+    }
+}
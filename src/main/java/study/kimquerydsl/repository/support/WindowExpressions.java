@@ -0,0 +1,47 @@
+package study.kimquerydsl.repository.support;
+
+import com.querydsl.core.types.Expression;
+import com.querydsl.core.types.Order;
+import com.querydsl.core.types.OrderSpecifier;
+import com.querydsl.core.types.dsl.Expressions;
+import com.querydsl.core.types.dsl.NumberExpression;
+
+/**
+ * CustomH2Dialect 에 등록한 윈도우 함수의 타입 안전 Querydsl 헬퍼
+ * <pre>
+ * select(member.username, avgOver(member.age, member.team.id))  // 팀별 평균 나이
+ * select(member.username, rankOver(member.team.id, member.age.desc()))  // 팀 안에서 나이 순위
+ * </pre>
+ */
+public final class WindowExpressions {
+
+    private WindowExpressions() {
+    }
+
+    // avg(value) over (partition by partitionBy)
+    public static NumberExpression<Double> avgOver(Expression<? extends Number> value, Expression<?> partitionBy) {
+        return Expressions.numberTemplate(Double.class, "function('avg_over', {0}, {1})", value, partitionBy);
+    }
+
+    // count(*) over (partition by partitionBy)
+    public static NumberExpression<Long> countOver(Expression<?> partitionBy) {
+        return Expressions.numberTemplate(Long.class, "function('count_over', {0})", partitionBy);
+    }
+
+    // row_number() over (partition by partitionBy order by orderBy)
+    public static NumberExpression<Long> rowNumberOver(Expression<?> partitionBy, OrderSpecifier<?> orderBy) {
+        return ranking("row_number_over", partitionBy, orderBy);
+    }
+
+    // rank() over (partition by partitionBy order by orderBy)
+    public static NumberExpression<Long> rankOver(Expression<?> partitionBy, OrderSpecifier<?> orderBy) {
+        return ranking("rank_over", partitionBy, orderBy);
+    }
+
+    private static NumberExpression<Long> ranking(String function, Expression<?> partitionBy,
+        OrderSpecifier<?> orderBy) {
+        String name = orderBy.getOrder() == Order.DESC ? function + "_desc" : function;
+        return Expressions.numberTemplate(Long.class, "function('" + name + "', {0}, {1})",
+            partitionBy, orderBy.getTarget());
+    }
+}
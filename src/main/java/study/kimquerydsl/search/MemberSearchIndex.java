@@ -0,0 +1,385 @@
+package study.kimquerydsl.search;
+
+import static study.kimquerydsl.entity.QMember.member;
+import static study.kimquerydsl.entity.QTeam.team;
+
+import com.querydsl.core.Tuple;
+import com.querydsl.jpa.impl.JPAQueryFactory;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jakarta.persistence.EntityManager;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.lucene.analysis.Analyzer;
+import org.apache.lucene.analysis.TokenStream;
+import org.apache.lucene.analysis.standard.StandardAnalyzer;
+import org.apache.lucene.analysis.tokenattributes.CharTermAttribute;
+import org.apache.lucene.document.Document;
+import org.apache.lucene.document.Field;
+import org.apache.lucene.document.StringField;
+import org.apache.lucene.document.TextField;
+import org.apache.lucene.index.IndexWriter;
+import org.apache.lucene.index.IndexWriterConfig;
+import org.apache.lucene.index.Term;
+import org.apache.lucene.search.BooleanClause;
+import org.apache.lucene.search.BooleanQuery;
+import org.apache.lucene.search.BoostQuery;
+import org.apache.lucene.search.FuzzyQuery;
+import org.apache.lucene.search.IndexSearcher;
+import org.apache.lucene.search.PrefixQuery;
+import org.apache.lucene.search.Query;
+import org.apache.lucene.search.ScoreDoc;
+import org.apache.lucene.search.SearcherManager;
+import org.apache.lucene.search.TermQuery;
+import org.apache.lucene.store.ByteBuffersDirectory;
+import org.apache.lucene.store.Directory;
+import org.apache.lucene.store.FSDirectory;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.util.StringUtils;
+import study.kimquerydsl.config.MemberFullTextProperties;
+import study.kimquerydsl.dto.MemberIndexRebuildResult;
+import study.kimquerydsl.entity.Member;
+import study.kimquerydsl.entity.Team;
+import study.kimquerydsl.event.CacheInvalidation;
+import study.kimquerydsl.event.CacheInvalidationBus;
+import study.kimquerydsl.repository.support.InClauses;
+
+/**
+ * 회원명, 팀명 전문 검색 인덱스 (Lucene, 노드마다 로컬 디렉토리)
+ * - 문서: 회원 한 명 = id, username, teamName
+ * - 커밋된 Member/Team 변경은 캐시 무효화 버스로 받아서 id 만 모아두고,
+ *   refreshIntervalMillis 마다 batchSize 개씩 DB 에서 읽어 인덱싱한다. (다른 노드 변경도 같은 경로로 반영)
+ * - 팀 이름 변경은 그 팀 회원을 다시 인덱싱한다.
+ * - 전체 재색인은 기동 시(rebuildOnStartup), 관리 API, requestRebuild() 로 명시적으로 요청할 때만 한다.
+ *   타입 전체 무효화(id 없음) 메시지는 캐시용이므로 재색인하지 않는다. (벌크 쓰기는 바뀐 id 로 발행한다)
+ */
+@Slf4j
+@Component
+public class MemberSearchIndex implements Consumer<CacheInvalidation> {
+
+    static final String ID = "id";
+    static final String USERNAME = "username";
+    static final String TEAM_NAME = "teamName";
+
+    private final JPAQueryFactory queryFactory;
+    private final TransactionTemplate readOnlyTransaction;
+    private final CacheInvalidationBus invalidationBus;
+    private final MemberFullTextProperties properties;
+
+    private final Analyzer analyzer = new StandardAnalyzer();
+    private final Set<Long> pendingMembers = ConcurrentHashMap.newKeySet();
+    private final Set<Long> pendingTeams = ConcurrentHashMap.newKeySet();
+    private final AtomicBoolean rebuildRequested = new AtomicBoolean();
+    private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "member-search-indexer");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private Directory directory;
+    private IndexWriter writer;
+    private SearcherManager searcherManager;
+
+    public MemberSearchIndex(EntityManager em, PlatformTransactionManager transactionManager,
+        CacheInvalidationBus invalidationBus, MemberFullTextProperties properties) {
+        this.queryFactory = new JPAQueryFactory(em);
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.invalidationBus = invalidationBus;
+        this.properties = properties;
+    }
+
+    @PostConstruct
+    public void open() throws IOException {
+        if (StringUtils.hasText(properties.getIndexDir())) {
+            Path path = Paths.get(properties.getIndexDir());
+            Files.createDirectories(path);
+            directory = FSDirectory.open(path);
+        } else {
+            directory = new ByteBuffersDirectory();
+        }
+        // 기동 시 재색인할 거면 이전 실행의 인덱스는 비우고, 아니면 이어서 쓴다.
+        writer = new IndexWriter(directory, new IndexWriterConfig(analyzer)
+            .setOpenMode(properties.isRebuildOnStartup()
+                ? IndexWriterConfig.OpenMode.CREATE
+                : IndexWriterConfig.OpenMode.CREATE_OR_APPEND));
+        searcherManager = new SearcherManager(writer, null);
+
+        invalidationBus.subscribe(this);
+        scheduler.scheduleWithFixedDelay(this::drainQuietly,
+            properties.getRefreshIntervalMillis(), properties.getRefreshIntervalMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuildOnStartup() {
+        if (properties.isRebuildOnStartup()) {
+            requestRebuild();
+        }
+    }
+
+    // 다음 주기에 전체 재색인 (ex. JDBC 로 대량 적재한 뒤)
+    public void requestRebuild() {
+        rebuildRequested.set(true);
+    }
+
+    @Override
+    public void accept(CacheInvalidation message) {
+        boolean memberType = Member.class.getName().equals(message.getEntityType());
+        boolean teamType = Team.class.getName().equals(message.getEntityType());
+        if (!memberType && !teamType) {
+            return;
+        }
+        if (message.getEntityId() == null) {
+            return;
+        }
+        if (memberType) {
+            pendingMembers.add(message.getEntityId());
+        } else {
+            pendingTeams.add(message.getEntityId());
+        }
+    }
+
+    /**
+     * 관련도 순 회원 id
+     * 토큰마다 일치 > 접두어 > 오타 허용(편집 거리 1~2) 순으로 가중치를 주고, 회원명이 팀명보다 우선한다.
+     */
+    public List<Long> search(String text, int limit) {
+        List<String> tokens = analyze(text);
+        if (tokens.isEmpty()) {
+            return List.of();
+        }
+
+        BooleanQuery.Builder query = new BooleanQuery.Builder();
+        for (String token : tokens) {
+            addTokenQueries(query, USERNAME, token, 2f);
+            addTokenQueries(query, TEAM_NAME, token, 1f);
+        }
+
+        try {
+            IndexSearcher searcher = searcherManager.acquire();
+            try {
+                List<Long> ids = new ArrayList<>();
+                for (ScoreDoc scoreDoc : searcher.search(query.build(), limit).scoreDocs) {
+                    ids.add(Long.valueOf(searcher.storedFields().document(scoreDoc.doc).get(ID)));
+                }
+                return ids;
+            } finally {
+                searcherManager.release(searcher);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private void addTokenQueries(BooleanQuery.Builder query, String field, String token, float boost) {
+        Term term = new Term(field, token);
+        query.add(boosted(new TermQuery(term), 4f * boost), BooleanClause.Occur.SHOULD);
+        query.add(boosted(new PrefixQuery(term), 2f * boost), BooleanClause.Occur.SHOULD);
+        int maxEdits = token.length() <= 2 ? 0 : token.length() <= 5 ? 1 : 2;
+        if (maxEdits > 0) {
+            query.add(boosted(new FuzzyQuery(term, maxEdits), boost), BooleanClause.Occur.SHOULD);
+        }
+    }
+
+    private Query boosted(Query query, float boost) {
+        return new BoostQuery(query, boost);
+    }
+
+    private List<String> analyze(String text) {
+        List<String> tokens = new ArrayList<>();
+        if (!StringUtils.hasText(text)) {
+            return tokens;
+        }
+        try (TokenStream stream = analyzer.tokenStream(USERNAME, text)) {
+            CharTermAttribute term = stream.addAttribute(CharTermAttribute.class);
+            stream.reset();
+            while (stream.incrementToken()) {
+                tokens.add(term.toString());
+            }
+            stream.end();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return tokens;
+    }
+
+    /**
+     * 회원을 DB 에서 읽어 바로 인덱싱하고 검색에 반영한다. (없는 회원은 인덱스에서 삭제)
+     * 호출한 스레드의 트랜잭션이 있으면 그 트랜잭션에서 읽는다.
+     */
+    public synchronized void index(Collection<Long> memberIds) {
+        for (List<Long> chunk : partition(new ArrayList<>(memberIds))) {
+            readOnlyTransaction.executeWithoutResult(status -> indexChunk(chunk));
+        }
+        commit();
+    }
+
+    private void indexChunk(List<Long> memberIds) {
+        Set<Long> missing = new HashSet<>(memberIds);
+        for (List<Long> ids : InClauses.paddedChunks(memberIds)) {
+            for (Tuple tuple : queryFactory
+                .select(member.id, member.username, team.name)
+                .from(member)
+                .leftJoin(member.team, team)
+                .where(member.id.in(ids))
+                .fetch()) {
+                Long id = tuple.get(member.id);
+                missing.remove(id);
+                updateDocument(id, tuple.get(member.username), tuple.get(team.name));
+            }
+        }
+        try {
+            for (Long id : missing) {
+                writer.deleteDocuments(new Term(ID, String.valueOf(id)));
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * 전체 재색인. 회원을 커서로 읽으면서 문서를 추가한다.
+     */
+    public synchronized MemberIndexRebuildResult rebuild() {
+        long start = System.nanoTime();
+        rebuildRequested.set(false);
+        pendingMembers.clear();
+        pendingTeams.clear();
+
+        long documents = readOnlyTransaction.execute(status -> {
+            try {
+                writer.deleteAll();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            long count = 0;
+            try (Stream<Tuple> rows = queryFactory
+                .select(member.id, member.username, team.name)
+                .from(member)
+                .leftJoin(member.team, team)
+                .setHint(HibernateHints.HINT_FETCH_SIZE, properties.getBatchSize())
+                .setHint(HibernateHints.HINT_READ_ONLY, true)
+                .stream()) {
+                for (Tuple tuple : (Iterable<Tuple>) rows::iterator) {
+                    updateDocument(tuple.get(member.id), tuple.get(member.username), tuple.get(team.name));
+                    count++;
+                }
+            }
+            return count;
+        });
+        commit();
+
+        MemberIndexRebuildResult result =
+            new MemberIndexRebuildResult(documents, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+        log.info("member search index rebuilt. {}", result);
+        return result;
+    }
+
+    private void updateDocument(Long id, String username, String teamName) {
+        Document document = new Document();
+        document.add(new StringField(ID, String.valueOf(id), Field.Store.YES));
+        if (username != null) {
+            document.add(new TextField(USERNAME, username, Field.Store.NO));
+        }
+        if (teamName != null) {
+            document.add(new TextField(TEAM_NAME, teamName, Field.Store.NO));
+        }
+        try {
+            writer.updateDocument(new Term(ID, String.valueOf(id)), document);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private void commit() {
+        try {
+            writer.commit();
+            searcherManager.maybeRefresh();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    // 모아둔 변경 반영. 가져간 id 를 지운 뒤에 DB 를 읽으므로 그 사이 커밋된 변경도 빠지지 않는다.
+    synchronized void drain() {
+        if (rebuildRequested.get()) {
+            try {
+                rebuild();
+            } catch (RuntimeException e) {
+                rebuildRequested.set(true);
+                throw e;
+            }
+            return;
+        }
+
+        if (!pendingTeams.isEmpty()) {
+            List<Long> teamIds = new ArrayList<>(pendingTeams);
+            pendingTeams.removeAll(teamIds);
+            pendingMembers.addAll(readOnlyTransaction.execute(status -> queryFactory
+                .select(member.id)
+                .from(member)
+                .where(member.team.id.in(teamIds))
+                .fetch()));
+        }
+        if (!pendingMembers.isEmpty()) {
+            List<Long> memberIds = new ArrayList<>(pendingMembers);
+            pendingMembers.removeAll(memberIds);
+            try {
+                index(memberIds);
+            } catch (RuntimeException e) {
+                pendingMembers.addAll(memberIds);
+                throw e;
+            }
+        }
+    }
+
+    private void drainQuietly() {
+        try {
+            drain();
+        } catch (RuntimeException e) {
+            log.warn("member search indexing failed", e);
+        }
+    }
+
+    private List<List<Long>> partition(List<Long> ids) {
+        List<List<Long>> chunks = new ArrayList<>();
+        for (int from = 0; from < ids.size(); from += properties.getBatchSize()) {
+            chunks.add(ids.subList(from, Math.min(from + properties.getBatchSize(), ids.size())));
+        }
+        return chunks;
+    }
+
+    @PreDestroy
+    public void close() throws IOException {
+        scheduler.shutdown();
+        try {
+            scheduler.awaitTermination(properties.getRefreshIntervalMillis() * 2, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        searcherManager.close();
+        writer.close();
+        directory.close();
+    }
+}
@@ -0,0 +1,124 @@
+package study.kimquerydsl.service;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+import study.kimquerydsl.config.MemberAgeBufferProperties;
+import study.kimquerydsl.repository.MemberBulkRepository;
+
+/**
+ * 회원 나이 증감 write-behind 버퍼
+ * - increment() 는 DB 에 가지 않고 회원 id 별로 증감을 합친다.
+ *   (ConcurrentHashMap.merge 는 lock-free 가 아니다. 같은 버킷의 회원끼리는 잠금을 기다린다)
+ * - flushIntervalMillis 마다, 또는 대기 회원 수가 maxPending 이상이면 모아둔 증감을 set 기반 update 로 반영한다.
+ * - 반영 전 값은 DB 에 없으므로 즉시 읽어야 하면 DB 값 + pending(memberId) 를 사용한다.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class MemberAgeWriteBehindBuffer {
+
+    private final MemberBulkRepository memberBulkRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final MemberAgeBufferProperties properties;
+
+    private final ConcurrentHashMap<Long, Long> pending = new ConcurrentHashMap<>();
+    private final AtomicBoolean flushRequested = new AtomicBoolean();
+    private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "member-age-write-behind");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    @PostConstruct
+    public void start() {
+        scheduler.scheduleWithFixedDelay(this::flushQuietly,
+            properties.getFlushIntervalMillis(), properties.getFlushIntervalMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    public void increment(Long memberId) {
+        add(memberId, 1);
+    }
+
+    public void add(Long memberId, long delta) {
+        pending.merge(memberId, delta, Long::sum);
+        if (pending.size() >= properties.getMaxPending() && flushRequested.compareAndSet(false, true)) {
+            scheduler.execute(this::flushQuietly);
+        }
+    }
+
+    // 아직 DB 에 반영되지 않은 증감
+    public long pending(Long memberId) {
+        return pending.getOrDefault(memberId, 0L);
+    }
+
+    /**
+     * 대기 중인 증감을 한 트랜잭션으로 반영한다.
+     * 회원별로 remove 해서 가져가므로 그 이후의 increment 는 다음 flush 에 반영된다.
+     * 실패하면 가져간 증감을 다시 합쳐서 다음 flush 에서 재시도한다.
+     * 나이 컬럼(int) 범위를 넘는 증감은 재시도해도 계속 실패하므로 버리고 로그를 남긴다.
+     *
+     * @return update 된 회원 수
+     */
+    public synchronized long flush() {
+        flushRequested.set(false);
+        Map<Long, Long> deltas = new HashMap<>();
+        for (Long memberId : pending.keySet()) {
+            Long delta = pending.remove(memberId);
+            if (delta != null) {
+                deltas.put(memberId, delta);
+            }
+        }
+        deltas.entrySet().removeIf(entry -> {
+            long delta = entry.getValue();
+            if (delta >= Integer.MIN_VALUE && delta <= Integer.MAX_VALUE) {
+                return false;
+            }
+            log.warn("member age delta out of int range dropped. memberId={}, delta={}", entry.getKey(), delta);
+            return true;
+        });
+        if (deltas.isEmpty()) {
+            return 0;
+        }
+
+        try {
+            return transactionTemplate.execute(status -> memberBulkRepository.addAge(deltas));
+        } catch (RuntimeException e) {
+            deltas.forEach((memberId, delta) -> pending.merge(memberId, delta, Long::sum));
+            throw e;
+        }
+    }
+
+    private void flushQuietly() {
+        try {
+            flush();
+        } catch (RuntimeException e) {
+            log.warn("member age flush failed. pending={}", pending.size(), e);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        scheduler.shutdown();
+        try {
+            scheduler.awaitTermination(properties.getFlushIntervalMillis() * 2, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        if (properties.isFlushOnShutdown()) {
+            flush();
+        } else if (!pending.isEmpty()) {
+            log.warn("member age buffer discarded on shutdown. pending={}", pending.size());
+        }
+    }
+}
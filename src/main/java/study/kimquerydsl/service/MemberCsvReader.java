@@ -0,0 +1,83 @@
+package study.kimquerydsl.service;
+
+import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 한 줄씩 읽는 CSV 리더. 파일 전체를 메모리에 올리지 않는다.
+ * 큰따옴표로 감싼 필드와 "" 이스케이프를 지원하고, 필드 안의 줄바꿈은 지원하지 않는다.
+ */
+public class MemberCsvReader implements Closeable {
+
+    private final BufferedReader reader;
+    private long lineNumber;
+
+    public MemberCsvReader(InputStream in) {
+        this.reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8));
+    }
+
+    /**
+     * @return 다음 데이터 줄, 끝이면 null (빈 줄은 건너뛴다)
+     */
+    public Line next() throws IOException {
+        String raw;
+        while ((raw = reader.readLine()) != null) {
+            lineNumber++;
+            if (!raw.isBlank()) {
+                return new Line(lineNumber, raw);
+            }
+        }
+        return null;
+    }
+
+    static List<String> parse(String raw) {
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+
+        for (int i = 0; i < raw.length(); i++) {
+            char c = raw.charAt(i);
+            if (quoted) {
+                if (c == '"' && i + 1 < raw.length() && raw.charAt(i + 1) == '"') {
+                    field.append('"');
+                    i++;
+                } else if (c == '"') {
+                    quoted = false;
+                } else {
+                    field.append(c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                fields.add(field.toString().trim());
+                field.setLength(0);
+            } else {
+                field.append(c);
+            }
+        }
+        if (quoted) {
+            throw new IllegalArgumentException("닫히지 않은 큰따옴표");
+        }
+        fields.add(field.toString().trim());
+        return fields;
+    }
+
+    @Override
+    public void close() throws IOException {
+        reader.close();
+    }
+
+    public record Line(long number, String raw) {
+
+        // 형식 오류는 IllegalArgumentException (해당 줄만 오류 처리하고 계속 읽을 수 있도록 지연 파싱)
+        public List<String> fields() {
+            return parse(raw);
+        }
+    }
+}
@@ -0,0 +1,286 @@
+package study.kimquerydsl.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PreDestroy;
+import java.io.BufferedOutputStream;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.zip.CRC32;
+import java.util.zip.CheckedOutputStream;
+import java.util.zip.GZIPOutputStream;
+import javax.sql.DataSource;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import study.kimquerydsl.config.MemberExportProperties;
+import study.kimquerydsl.dto.MemberExportManifest;
+import study.kimquerydsl.dto.MemberExportProgress;
+
+/**
+ * 회원 전체 내보내기 (member_id 범위 분할 병렬)
+ * 1. member_id 최소~최대를 partitions 개 범위로 나눈다.
+ * 2. 범위마다 별도 커넥션에서 커서(fetchSize)로 읽어서 members-NNN.csv.gz 로 쓴다. (동시에 parallelism 개)
+ * 3. 모두 끝나면 파일별 행 수, 크기, CRC32 를 manifest.json 으로 남긴다.
+ * start() 는 백그라운드에서 실행하고 바로 반환한다. 진행 상황과 결과(manifest)는 progress() 로 확인한다.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class MemberExportService {
+
+    static final String HEADER = "member_id,username,age,team_id,team_name";
+    static final String SELECT_SQL = """
+        select m.member_id, m.username, m.age, m.team_id, t.name
+        from member m left join team t on t.team_id = m.team_id
+        where m.member_id >= ? and m.member_id < ?
+        order by m.member_id
+        """;
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+    private static final int PROGRESS_STEP = 1_000;
+
+    private final DataSource dataSource;
+    private final ObjectMapper objectMapper;
+    private final MemberExportProperties properties;
+
+    private final AtomicBoolean running = new AtomicBoolean();
+    private final AtomicInteger totalPartitions = new AtomicInteger();
+    private final AtomicInteger completedPartitions = new AtomicInteger();
+    private final AtomicLong exportedRows = new AtomicLong();
+    private volatile long startNanos;
+    private volatile long finishNanos;
+    private volatile MemberExportManifest manifest;
+    private volatile String error;
+
+    // 요청 스레드를 잡지 않도록 내보내기 작업은 이 스레드에서 실행한다. (한 번에 하나)
+    private final ExecutorService jobExecutor = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "member-export-job");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    /**
+     * 백그라운드에서 내보내기를 시작한다.
+     *
+     * @return 시작 직후 진행 상황
+     * @throws IllegalStateException 이미 진행 중일 때
+     */
+    public MemberExportProgress start() {
+        begin();
+        jobExecutor.execute(() -> {
+            try {
+                manifest = doExport();
+            } catch (IOException | RuntimeException e) {
+                error = e.getMessage();
+                log.warn("member export failed", e);
+            } finally {
+                finish();
+            }
+        });
+        return progress();
+    }
+
+    // 끝날 때까지 기다렸다가 manifest 반환
+    public MemberExportManifest export() throws IOException {
+        begin();
+        try {
+            manifest = doExport();
+            return manifest;
+        } catch (IOException | RuntimeException e) {
+            error = e.getMessage();
+            throw e;
+        } finally {
+            finish();
+        }
+    }
+
+    public MemberExportProgress progress() {
+        long endNanos = running.get() ? System.nanoTime() : finishNanos;
+        long elapsedMillis = startNanos == 0 ? 0 : TimeUnit.NANOSECONDS.toMillis(endNanos - startNanos);
+        long rows = exportedRows.get();
+        return new MemberExportProgress(running.get(), totalPartitions.get(), completedPartitions.get(), rows,
+            elapsedMillis, elapsedMillis == 0 ? 0 : rows * 1000.0 / elapsedMillis, manifest, error);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        jobExecutor.shutdownNow();
+    }
+
+    private void begin() {
+        if (!running.compareAndSet(false, true)) {
+            throw new IllegalStateException("이미 내보내기가 진행 중입니다.");
+        }
+        startNanos = System.nanoTime();
+        exportedRows.set(0);
+        totalPartitions.set(0);
+        completedPartitions.set(0);
+        manifest = null;
+        error = null;
+    }
+
+    private void finish() {
+        finishNanos = System.nanoTime();
+        running.set(false);
+    }
+
+    private MemberExportManifest doExport() throws IOException {
+        LocalDateTime startedAt = LocalDateTime.now();
+
+        Path dir = Paths.get(properties.getDir(), startedAt.format(DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss")));
+        Files.createDirectories(dir);
+
+        List<long[]> ranges = ranges();
+        totalPartitions.set(ranges.size());
+
+        ExecutorService executor = Executors.newFixedThreadPool(Math.max(1, properties.getParallelism()), runnable -> {
+            Thread thread = new Thread(runnable, "member-export");
+            thread.setDaemon(true);
+            return thread;
+        });
+        List<MemberExportManifest.Part> parts = new ArrayList<>();
+        try {
+            List<Future<MemberExportManifest.Part>> futures = new ArrayList<>();
+            for (int i = 0; i < ranges.size(); i++) {
+                Path file = dir.resolve(String.format("members-%03d.csv.gz", i));
+                long[] range = ranges.get(i);
+                futures.add(executor.submit(() -> exportRange(file, range[0], range[1])));
+            }
+            for (Future<MemberExportManifest.Part> future : futures) {
+                parts.add(future.get());
+            }
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("회원 내보내기 실패", e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("회원 내보내기 중단", e);
+        } finally {
+            executor.shutdownNow();
+        }
+
+        MemberExportManifest manifest = new MemberExportManifest();
+        manifest.setStartedAt(startedAt.toString());
+        manifest.setElapsedMillis(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos));
+        manifest.setTotalRows(parts.stream().mapToLong(MemberExportManifest.Part::getRows).sum());
+        manifest.setRowsPerSecond(manifest.getElapsedMillis() == 0
+            ? manifest.getTotalRows() : manifest.getTotalRows() * 1000.0 / manifest.getElapsedMillis());
+        manifest.setParts(parts);
+        objectMapper.writerWithDefaultPrettyPrinter().writeValue(dir.resolve("manifest.json").toFile(), manifest);
+
+        log.info("member export finished. dir={}, rows={}, elapsedMillis={}",
+            dir, manifest.getTotalRows(), manifest.getElapsedMillis());
+        return manifest;
+    }
+
+    // [fromId, toId) 범위 목록
+    private List<long[]> ranges() {
+        Map<String, Object> minMax = new JdbcTemplate(dataSource)
+            .queryForMap("select min(member_id) min_id, max(member_id) max_id from member");
+        List<long[]> ranges = new ArrayList<>();
+        if (minMax.get("min_id") == null) {
+            return ranges;
+        }
+        long min = ((Number) minMax.get("min_id")).longValue();
+        long max = ((Number) minMax.get("max_id")).longValue();
+        int partitions = Math.max(1, properties.getPartitions());
+        long step = Math.max(1, (max - min + partitions) / partitions);
+        for (long from = min; from <= max; from += step) {
+            ranges.add(new long[]{from, Math.min(from + step, max + 1)});
+        }
+        return ranges;
+    }
+
+    private MemberExportManifest.Part exportRange(Path file, long fromId, long toId) throws SQLException, IOException {
+        CRC32 crc = new CRC32();
+        long rows = 0;
+        try (Connection connection = dataSource.getConnection()) {
+            connection.setReadOnly(true);
+            connection.setAutoCommit(false); // 커서로 나눠 읽기
+            try (PreparedStatement statement = connection.prepareStatement(SELECT_SQL)) {
+                statement.setFetchSize(properties.getFetchSize());
+                statement.setLong(1, fromId);
+                statement.setLong(2, toId);
+
+                try (ResultSet rs = statement.executeQuery();
+                     FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE,
+                         StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING);
+                     Writer writer = new BufferedWriter(new OutputStreamWriter(
+                         new GZIPOutputStream(new CheckedOutputStream(
+                             new BufferedOutputStream(Channels.newOutputStream(channel), BUFFER_SIZE), crc), BUFFER_SIZE),
+                         StandardCharsets.UTF_8), BUFFER_SIZE)) {
+                    writer.write(HEADER);
+                    writer.write('\n');
+                    while (rs.next()) {
+                        writeRow(writer, rs);
+                        if (++rows % PROGRESS_STEP == 0) {
+                            exportedRows.addAndGet(PROGRESS_STEP);
+                        }
+                    }
+                }
+            } finally {
+                connection.rollback();
+                connection.setAutoCommit(true);
+                connection.setReadOnly(false);
+            }
+        }
+        exportedRows.addAndGet(rows % PROGRESS_STEP);
+        completedPartitions.incrementAndGet();
+
+        return new MemberExportManifest.Part(file.getFileName().toString(), fromId, toId, rows,
+            Files.size(file), Long.toHexString(crc.getValue()));
+    }
+
+    private void writeRow(Writer writer, ResultSet rs) throws SQLException, IOException {
+        writer.write(Long.toString(rs.getLong(1)));
+        writer.write(',');
+        writer.write(csv(rs.getString(2)));
+        writer.write(',');
+        writer.write(Integer.toString(rs.getInt(3)));
+        writer.write(',');
+        long teamId = rs.getLong(4);
+        if (!rs.wasNull()) {
+            writer.write(Long.toString(teamId));
+        }
+        writer.write(',');
+        writer.write(csv(rs.getString(5)));
+        writer.write('\n');
+    }
+
+    // MemberCsvReader 와 같은 규칙: 쉼표, 따옴표, 줄바꿈이 있으면 따옴표로 감싸고 따옴표는 "" 로
+    static String csv(String value) {
+        if (value == null) {
+            return "";
+        }
+        if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0 && value.indexOf('\r') < 0) {
+            return value;
+        }
+        return '"' + value.replace("\"", "\"\"") + '"';
+    }
+}
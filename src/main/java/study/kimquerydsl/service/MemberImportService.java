@@ -0,0 +1,172 @@
+package study.kimquerydsl.service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Supplier;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.util.StringUtils;
+import study.kimquerydsl.dto.MemberImportResult;
+import study.kimquerydsl.dto.MemberImportRow;
+import study.kimquerydsl.repository.MemberBulkRepository;
+import study.kimquerydsl.repository.MemberBulkRepository.UpsertCount;
+
+/**
+ * CSV(username,age,teamName) 회원 가져오기.
+ * 스트림을 한 줄씩 읽어 batchSize 단위로 모았다가 배치마다 별도 트랜잭션으로 upsert 한다.
+ */
+@Service
+@RequiredArgsConstructor
+public class MemberImportService {
+
+    private static final int MAX_ERROR_ROWS = 1_000;
+    // 다른 가져오기와 같은 username, 팀명을 동시에 insert 해서 충돌했을 때 다시 실행하는 횟수
+    private static final int DUPLICATE_MAX_ATTEMPTS = 3;
+
+    private final MemberBulkRepository memberBulkRepository;
+    private final TransactionTemplate transactionTemplate;
+
+    @Value("${member.import.batch-size:1000}")
+    private int batchSize;
+
+    public MemberImportResult importCsv(InputStream in) throws IOException {
+        MemberImportResult result = new MemberImportResult();
+        Map<String, Long> teamIds = transactionTemplate.execute(status -> memberBulkRepository.findTeamIdsByName());
+
+        try (MemberCsvReader reader = new MemberCsvReader(in)) {
+            List<MemberImportRow> batch = new ArrayList<>(batchSize);
+            MemberCsvReader.Line line;
+            while ((line = reader.next()) != null) {
+                if (line.number() == 1 && isHeader(line)) {
+                    continue;
+                }
+                result.setTotalRows(result.getTotalRows() + 1);
+
+                try {
+                    batch.add(toRow(line));
+                } catch (IllegalArgumentException e) {
+                    addError(result, line.number(), line.raw(), e.getMessage());
+                    continue;
+                }
+
+                if (batch.size() >= batchSize) {
+                    writeBatch(batch, teamIds, result);
+                    batch.clear();
+                }
+            }
+            if (!batch.isEmpty()) {
+                writeBatch(batch, teamIds, result);
+            }
+        }
+        return result;
+    }
+
+    private void writeBatch(List<MemberImportRow> batch, Map<String, Long> teamIds, MemberImportResult result) {
+        int batchNo = result.getBatches().size() + 1;
+        long start = System.nanoTime();
+        try {
+            resolveTeams(batch, teamIds);
+            UpsertCount count = retryOnDuplicate(
+                () -> transactionTemplate.execute(status -> memberBulkRepository.upsertByUsername(batch)));
+            int inserted = count.inserted();
+            int updated = count.updated();
+
+            result.setInsertedRows(result.getInsertedRows() + inserted);
+            result.setUpdatedRows(result.getUpdatedRows() + updated);
+            result.getBatches().add(new MemberImportResult.BatchReport(
+                batchNo, batch.size(), inserted, updated, elapsedMillis(start), null));
+        } catch (RuntimeException e) {
+            // 배치 전체가 롤백되므로 배치의 모든 행을 오류로 남긴다.
+            for (MemberImportRow row : batch) {
+                addError(result, row.getLine(), row.getUsername(), "batch " + batchNo + " 실패: " + e.getMessage());
+            }
+            result.getBatches().add(new MemberImportResult.BatchReport(
+                batchNo, batch.size(), 0, 0, elapsedMillis(start), e.getMessage()));
+        }
+    }
+
+    // 트랜잭션은 롤백되었으므로 다시 실행하면 먼저 들어간 username 은 update, 팀은 조회로 처리된다.
+    private <T> T retryOnDuplicate(Supplier<T> work) {
+        for (int attempt = 1; ; attempt++) {
+            try {
+                return work.get();
+            } catch (DuplicateKeyException e) {
+                if (attempt >= DUPLICATE_MAX_ATTEMPTS) {
+                    throw e;
+                }
+            }
+        }
+    }
+
+    // 없는 팀은 먼저 별도 트랜잭션으로 만든다. (배치가 롤백되어도 팀명 -> id 맵이 틀어지지 않도록)
+    private void resolveTeams(List<MemberImportRow> batch, Map<String, Long> teamIds) {
+        List<String> missing = batch.stream()
+            .map(MemberImportRow::getTeamName)
+            .filter(name -> name != null && !teamIds.containsKey(name))
+            .distinct()
+            .toList();
+
+        if (!missing.isEmpty()) {
+            // 다른 가져오기가 그 사이 만든 팀은 다시 조회해서 쓴다.
+            teamIds.putAll(retryOnDuplicate(() -> transactionTemplate.execute(status -> {
+                Map<String, Long> ids = memberBulkRepository.findTeamIdsByName(missing);
+                List<String> absent = missing.stream().filter(name -> !ids.containsKey(name)).toList();
+                if (!absent.isEmpty()) {
+                    ids.putAll(memberBulkRepository.insertTeams(absent));
+                }
+                return ids;
+            })));
+        }
+
+        for (MemberImportRow row : batch) {
+            row.setTeamId(row.getTeamName() == null ? null : teamIds.get(row.getTeamName()));
+        }
+    }
+
+    private MemberImportRow toRow(MemberCsvReader.Line line) {
+        List<String> fields = line.fields();
+        if (fields.size() < 2 || fields.size() > 3) {
+            throw new IllegalArgumentException("컬럼 수가 올바르지 않습니다. (username,age,teamName)");
+        }
+
+        String username = fields.get(0);
+        if (!StringUtils.hasText(username)) {
+            throw new IllegalArgumentException("username 이 비어 있습니다.");
+        }
+
+        int age;
+        try {
+            age = Integer.parseInt(fields.get(1));
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("age 가 숫자가 아닙니다: " + fields.get(1));
+        }
+
+        String teamName = fields.size() == 3 && StringUtils.hasText(fields.get(2)) ? fields.get(2) : null;
+        return new MemberImportRow(line.number(), username, age, teamName);
+    }
+
+    private boolean isHeader(MemberCsvReader.Line line) {
+        try {
+            return "username".equalsIgnoreCase(line.fields().get(0));
+        } catch (IllegalArgumentException e) {
+            return false;
+        }
+    }
+
+    private void addError(MemberImportResult result, long line, String content, String message) {
+        result.setErrorRows(result.getErrorRows() + 1);
+        if (result.getErrors().size() < MAX_ERROR_ROWS) {
+            result.getErrors().add(new MemberImportResult.ErrorRow(line, content, message));
+        }
+    }
+
+    private long elapsedMillis(long startNanos) {
+        return (System.nanoTime() - startNanos) / 1_000_000;
+    }
+}
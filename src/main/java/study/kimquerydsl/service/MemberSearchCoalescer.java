@@ -0,0 +1,67 @@
+package study.kimquerydsl.service;
+
+import lombok.RequiredArgsConstructor;
+import lombok.Value;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Service;
+import study.kimquerydsl.config.MemberSearchProperties;
+import study.kimquerydsl.dto.MemberSearchCondition;
+import study.kimquerydsl.dto.MemberTeamDto;
+import study.kimquerydsl.dto.SearchCoalescingStats;
+import study.kimquerydsl.repository.MemberRepository;
+
+/**
+ * /v3/members 요청 합치기 (single-flight)
+ * 트래픽이 몰릴 때 같은 조건, 같은 페이지로 동시에 들어온 요청은 컨텐츠/카운트 쿼리를 한 번만 실행하고 결과를 같이 쓴다.
+ * 실행이 끝난 결과는 보관하지 않는다. (member.search.coalesce=false 면 요청마다 실행)
+ */
+@Service
+@RequiredArgsConstructor
+public class MemberSearchCoalescer {
+
+    private final MemberRepository memberRepository;
+    private final MemberSearchProperties properties;
+    private final SingleFlight<SearchKey, Page<MemberTeamDto>> searchPageComplex = new SingleFlight<>();
+
+    public Page<MemberTeamDto> searchPageComplex(MemberSearchCondition condition, Pageable pageable) {
+        if (!properties.isCoalesce()) {
+            return memberRepository.searchPageComplex(condition, pageable);
+        }
+        return searchPageComplex.execute(SearchKey.of(condition, pageable),
+            () -> memberRepository.searchPageComplex(condition, pageable));
+    }
+
+    public SearchCoalescingStats stats() {
+        long executions = searchPageComplex.executions();
+        long coalesced = searchPageComplex.coalesced();
+        long total = executions + coalesced;
+        return new SearchCoalescingStats(properties.isCoalesce(), executions, coalesced,
+            searchPageComplex.inFlight(), total == 0 ? 0 : (double) coalesced / total);
+    }
+
+    public void resetStats() {
+        searchPageComplex.reset();
+    }
+
+    // MemberSearchCondition 은 변경 가능하므로 값을 복사해서 키로 쓴다.
+    @Value
+    static class SearchKey {
+        String username;
+        String teamName;
+        Integer ageGoe;
+        Integer ageLoe;
+        long offset;
+        int pageSize;
+        Sort sort;
+
+        static SearchKey of(MemberSearchCondition condition, Pageable pageable) {
+            return new SearchKey(condition.getUsername(), condition.getTeamName(),
+                condition.getAgeGoe(), condition.getAgeLoe(),
+                pageable.isPaged() ? pageable.getOffset() : -1,
+                pageable.isPaged() ? pageable.getPageSize() : -1,
+                pageable.getSort());
+        }
+    }
+}
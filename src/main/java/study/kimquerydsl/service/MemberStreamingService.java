@@ -0,0 +1,72 @@
+package study.kimquerydsl.service;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.util.Iterator;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import study.kimquerydsl.dto.MemberSearchCondition;
+import study.kimquerydsl.dto.MemberTeamRow;
+import study.kimquerydsl.repository.MemberJpaRepository;
+
+/**
+ * 검색 결과를 List 로 모으지 않고 DB 커서에서 읽는 대로 JSON 배열로 내려보낸다.
+ */
+@Service
+@RequiredArgsConstructor
+public class MemberStreamingService {
+
+    private final MemberJpaRepository memberJpaRepository;
+    private final PlatformTransactionManager transactionManager;
+    private final ObjectMapper objectMapper;
+
+    // 커서에서 MemberTeamRow 로 읽자마자 JSON 으로 쓴다. (요청당 힙 사용량이 결과 건수와 무관)
+    public void search(MemberSearchCondition condition, OutputStream out) {
+        ObjectWriter rowWriter = objectMapper.writerFor(MemberTeamRow.class)
+            .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE); // 행마다 flush 하지 않고 버퍼가 차면 내보낸다.
+        write(() -> memberJpaRepository.searchStream(condition), rowWriter, out);
+    }
+
+    // 팀 -> 회원 목록, 한 팀이 다 모이면 바로 쓴다.
+    public void teamMembers(MemberSearchCondition condition, OutputStream out) {
+        write(() -> memberJpaRepository.streamTeamMembers(condition), objectMapper.writer(), out);
+    }
+
+    private void write(Supplier<Stream<?>> source, ObjectWriter writer, OutputStream out) {
+        write(out, generator -> {
+            try (Stream<?> rows = source.get()) {
+                Iterator<?> iterator = rows.iterator();
+                while (iterator.hasNext()) {
+                    writer.writeValue(generator, iterator.next());
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+    }
+
+    private void write(OutputStream out, Consumer<JsonGenerator> body) {
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        transactionTemplate.setReadOnly(true);
+        transactionTemplate.executeWithoutResult(status -> {
+            try (JsonGenerator generator = objectMapper.getFactory().createGenerator(out)) {
+                generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+                generator.writeStartArray();
+                body.accept(generator);
+                generator.writeEndArray();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+    }
+}
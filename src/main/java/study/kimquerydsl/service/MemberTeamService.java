@@ -0,0 +1,83 @@
+package study.kimquerydsl.service;
+
+import static org.springframework.util.StringUtils.hasText;
+
+import jakarta.persistence.EntityManager;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import study.kimquerydsl.dto.MemberSearchCondition;
+import study.kimquerydsl.dto.MemberTeamReassignRequest;
+import study.kimquerydsl.entity.Team;
+import study.kimquerydsl.repository.MemberBulkRepository;
+import study.kimquerydsl.repository.TeamMemberCountRepository;
+
+@Service
+@RequiredArgsConstructor
+public class MemberTeamService {
+
+    private static final int JOIN_MAX_ATTEMPTS = 5;
+
+    private final EntityManager em;
+    private final MemberBulkRepository memberBulkRepository;
+    private final TeamMemberCountRepository teamMemberCountRepository;
+
+    /**
+     * 회원 일괄 팀 이동. 회원 엔티티를 로딩하지 않고 set 기반 update 로 처리한다.
+     *
+     * @return 이동한 회원 수
+     */
+    @Transactional
+    public long reassignTeam(MemberTeamReassignRequest request) {
+        if (request.getTargetTeamId() == null || em.find(Team.class, request.getTargetTeamId()) == null) {
+            throw new IllegalArgumentException("대상 팀이 존재하지 않습니다: " + request.getTargetTeamId());
+        }
+
+        if (request.getMemberIds() != null && !request.getMemberIds().isEmpty()) {
+            return memberBulkRepository.reassignTeam(request.getMemberIds(), request.getTargetTeamId());
+        }
+
+        // 빈 조건은 전체 회원 이동이 되므로 막는다.
+        MemberSearchCondition condition = request.getCondition();
+        if (condition == null || isBlank(condition)) {
+            throw new IllegalArgumentException("memberIds 또는 검색 조건이 필요합니다.");
+        }
+        return memberBulkRepository.reassignTeam(condition, request.getTargetTeamId());
+    }
+
+    /**
+     * 회원 한 명을 팀에 넣는다. member.changeTeam() 과 달리 Team.members 컬렉션을 로딩/수정하지 않아서
+     * 같은 인기 팀으로 동시에 많이 들어와도 팀 엔티티에서 경합하지 않는다. (FK compare-and-set + 재시도)
+     */
+    @Transactional
+    public boolean joinTeam(Long memberId, Long teamId) {
+        if (em.find(Team.class, teamId) == null) {
+            throw new IllegalArgumentException("팀이 존재하지 않습니다: " + teamId);
+        }
+        return memberBulkRepository.moveToTeam(memberId, teamId, JOIN_MAX_ATTEMPTS);
+    }
+
+    // 팀 이름 변경, 회원의 비정규화된 팀 이름도 함께 바꾼다.
+    @Transactional
+    public long renameTeam(Long teamId, String name) {
+        if (!hasText(name)) {
+            throw new IllegalArgumentException("팀 이름이 비어 있습니다.");
+        }
+        if (em.find(Team.class, teamId) == null) {
+            throw new IllegalArgumentException("팀이 존재하지 않습니다: " + teamId);
+        }
+        return memberBulkRepository.renameTeam(teamId, name);
+    }
+
+    // 팀별 회원 수 테이블 재계산 (관리용, 회원 쓰기를 멈춘 상태에서 한 노드에서만 실행)
+    public int rebuildMemberCounts() {
+        return teamMemberCountRepository.rebuild();
+    }
+
+    private boolean isBlank(MemberSearchCondition condition) {
+        return !hasText(condition.getUsername())
+            && !hasText(condition.getTeamName())
+            && condition.getAgeGoe() == null
+            && condition.getAgeLoe() == null;
+    }
+}
@@ -0,0 +1,77 @@
+package study.kimquerydsl.web;
+
+import java.io.IOException;
+import java.lang.reflect.Type;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import org.springframework.core.ResolvableType;
+import org.springframework.data.domain.Page;
+import org.springframework.http.HttpInputMessage;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.AbstractGenericHttpMessageConverter;
+import org.springframework.http.converter.HttpMessageNotReadableException;
+import study.kimquerydsl.dto.MemberTeamDto;
+
+/**
+ * Page&lt;MemberTeamDto&gt; 전용 응답 컨버터 (쓰기 전용).
+ * 팀 이름은 행마다 반복되므로 사전(dictionary)으로 한 번만 내보내고 행에는 인덱스만 쓴다.
+ */
+public abstract class AbstractMemberTeamPageConverter
+    extends AbstractGenericHttpMessageConverter<Page<MemberTeamDto>> {
+
+    protected AbstractMemberTeamPageConverter(MediaType supportedMediaType) {
+        super(supportedMediaType);
+    }
+
+    @Override
+    protected boolean supports(Class<?> clazz) {
+        return Page.class.isAssignableFrom(clazz);
+    }
+
+    @Override
+    public boolean canWrite(Type type, Class<?> clazz, MediaType mediaType) {
+        if (!canWrite(mediaType) || !supports(clazz)) {
+            return false;
+        }
+        // 컨트롤러 반환 타입이 Page<MemberTeamDto> 일 때만
+        ResolvableType resolvableType = type != null ? ResolvableType.forType(type) : ResolvableType.forClass(clazz);
+        Class<?> element = resolvableType.as(Page.class).getGeneric(0).resolve();
+        return element != null && MemberTeamDto.class.isAssignableFrom(element);
+    }
+
+    @Override
+    public boolean canRead(Type type, Class<?> contextClass, MediaType mediaType) {
+        return false;
+    }
+
+    @Override
+    protected boolean canRead(MediaType mediaType) {
+        return false;
+    }
+
+    @Override
+    public Page<MemberTeamDto> read(Type type, Class<?> contextClass, HttpInputMessage inputMessage) {
+        throw new HttpMessageNotReadableException("읽기를 지원하지 않습니다.", inputMessage);
+    }
+
+    @Override
+    protected Page<MemberTeamDto> readInternal(Class<? extends Page<MemberTeamDto>> clazz,
+        HttpInputMessage inputMessage) throws IOException {
+        throw new HttpMessageNotReadableException("읽기를 지원하지 않습니다.", inputMessage);
+    }
+
+    // 팀 이름 -> 사전 인덱스 (등장 순서)
+    protected static Map<String, Integer> teamNameDictionary(Page<MemberTeamDto> page) {
+        Map<String, Integer> dictionary = new LinkedHashMap<>();
+        for (MemberTeamDto row : page.getContent()) {
+            if (row.getTeamName() != null) {
+                dictionary.putIfAbsent(row.getTeamName(), dictionary.size());
+            }
+        }
+        return dictionary;
+    }
+
+    protected static int teamNameIndex(Map<String, Integer> dictionary, MemberTeamDto row) {
+        return row.getTeamName() == null ? -1 : dictionary.get(row.getTeamName());
+    }
+}
@@ -0,0 +1,83 @@
+package study.kimquerydsl.web;
+
+/**
+ * 응답 시간 기울기(gradient)로 동시 처리 한도를 조절한다.
+ * - longRtt: 응답 시간의 장기 평균 (평소 응답 시간), rtt: 방금 끝난 요청의 응답 시간
+ * - gradient = tolerance * longRtt / rtt 를 [0.5, 1] 로 자른 값. 평소보다 느려지면 1 보다 작아져서 한도가 줄어든다.
+ * - 새 한도 = limit * gradient + queueSize(sqrt(limit)) 를 smoothing 비율로 반영
+ * - 실패(예외, 5xx)는 응답 시간과 상관없이 한도를 10% 줄인다. (AIMD 의 multiplicative decrease)
+ * - 사용량이 한도의 절반도 안 되면 한도를 늘리지 않는다. (부하가 낮을 때 한도가 끝없이 커지지 않게)
+ */
+public class AdaptiveConcurrencyLimit {
+
+    private static final double LONG_RTT_WINDOW = 600;
+    private static final double BACKOFF_RATIO = 0.9;
+
+    private final int minLimit;
+    private final int maxLimit;
+    private final double tolerance;
+    private final double smoothing;
+
+    private double limit;
+    private double longRtt;
+    private int inFlight;
+
+    public AdaptiveConcurrencyLimit(int initialLimit, int minLimit, int maxLimit, double tolerance, double smoothing) {
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.tolerance = tolerance;
+        this.smoothing = smoothing;
+        this.limit = Math.max(minLimit, Math.min(maxLimit, initialLimit));
+    }
+
+    public synchronized boolean tryAcquire() {
+        if (inFlight >= (int) limit) {
+            return false;
+        }
+        inFlight++;
+        return true;
+    }
+
+    /**
+     * @param rttNanos 요청 처리 시간
+     * @param dropped  실패한 요청이면 true
+     */
+    public synchronized void release(long rttNanos, boolean dropped) {
+        int inFlightBefore = inFlight--;
+
+        double newLimit;
+        if (dropped) {
+            newLimit = limit * BACKOFF_RATIO;
+        } else {
+            double rtt = Math.max(1, rttNanos);
+            if (longRtt == 0) {
+                longRtt = rtt;
+            } else {
+                longRtt += (rtt - longRtt) / LONG_RTT_WINDOW;
+            }
+            // 평소보다 훨씬 빨라졌으면(부하가 빠진 뒤) 장기 평균도 빠르게 따라간다.
+            if (longRtt / rtt > 2) {
+                longRtt *= 0.95;
+            }
+            double gradient = Math.max(0.5, Math.min(1.0, tolerance * longRtt / rtt));
+            newLimit = limit * gradient + Math.sqrt(limit);
+            if (newLimit > limit && inFlightBefore < limit / 2) {
+                return;
+            }
+        }
+        limit = Math.max(minLimit, Math.min(maxLimit, limit * (1 - smoothing) + newLimit * smoothing));
+    }
+
+    public synchronized int getLimit() {
+        return (int) limit;
+    }
+
+    public synchronized int getInFlight() {
+        return inFlight;
+    }
+
+    // 사용량 / 한도
+    public synchronized double utilization() {
+        return inFlight / limit;
+    }
+}
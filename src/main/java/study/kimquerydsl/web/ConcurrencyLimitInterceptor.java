@@ -0,0 +1,105 @@
+package study.kimquerydsl.web;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.servlet.HandlerInterceptor;
+import study.kimquerydsl.config.ConcurrencyLimitProperties;
+import study.kimquerydsl.config.ConcurrencyLimitProperties.Priority;
+
+/**
+ * 검색 API 엔드포인트별 동시 처리 한도 (AdaptiveConcurrencyLimit)
+ * - DB 가 느려져서 응답 시간이 늘면 한도를 줄이고, 한도를 넘는 요청은 스레드/커넥션을 잡기 전에 503 + Retry-After 로 거절한다.
+ * - HIGH(/v2~/v4 페이징) 엔드포인트가 한도에 가까워지면 LOW(/v1 건수 제한 없음) 엔드포인트를 먼저 거절한다.
+ * - 응답 시간은 컨트롤러 처리 시간(리포지토리 조회 + 응답 쓰기)으로 잰다.
+ */
+@Slf4j
+public class ConcurrencyLimitInterceptor implements HandlerInterceptor {
+
+    private static final String ACQUIRED = ConcurrencyLimitInterceptor.class.getName() + ".ACQUIRED";
+    private static final String START_NANOS = ConcurrencyLimitInterceptor.class.getName() + ".START_NANOS";
+
+    private final ConcurrencyLimitProperties properties;
+    private final Map<String, AdaptiveConcurrencyLimit> limits = new LinkedHashMap<>();
+
+    public ConcurrencyLimitInterceptor(ConcurrencyLimitProperties properties) {
+        this.properties = properties;
+        for (String endpoint : properties.getEndpoints().keySet()) {
+            limits.put(endpoint, new AdaptiveConcurrencyLimit(properties.getInitialLimit(),
+                properties.getMinLimit(), properties.getMaxLimit(), properties.getTolerance(),
+                properties.getSmoothing()));
+        }
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler)
+        throws IOException {
+        String endpoint = request.getRequestURI().substring(request.getContextPath().length());
+        AdaptiveConcurrencyLimit limit = limits.get(endpoint);
+        if (limit == null || request.getAttribute(ACQUIRED) != null) {
+            return true;
+        }
+
+        if (properties.getEndpoints().get(endpoint) == Priority.LOW && highPriorityBusy()) {
+            reject(response, endpoint, "우선순위가 높은 요청을 처리 중입니다.");
+            return false;
+        }
+        if (!limit.tryAcquire()) {
+            reject(response, endpoint, "동시 처리 한도(" + limit.getLimit() + ")를 초과했습니다.");
+            return false;
+        }
+        request.setAttribute(ACQUIRED, limit);
+        request.setAttribute(START_NANOS, System.nanoTime());
+        return true;
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler,
+        Exception ex) {
+        AdaptiveConcurrencyLimit limit = (AdaptiveConcurrencyLimit) request.getAttribute(ACQUIRED);
+        if (limit == null) {
+            return;
+        }
+        request.removeAttribute(ACQUIRED);
+        long rtt = System.nanoTime() - (long) request.getAttribute(START_NANOS);
+        limit.release(rtt, ex != null || response.getStatus() >= 500);
+    }
+
+    // 엔드포인트별 현재 한도, 처리 중인 요청 수
+    public Map<String, Map<String, Object>> snapshot() {
+        Map<String, Map<String, Object>> result = new LinkedHashMap<>();
+        limits.forEach((endpoint, limit) -> {
+            Map<String, Object> values = new LinkedHashMap<>();
+            values.put("priority", properties.getEndpoints().get(endpoint));
+            values.put("limit", limit.getLimit());
+            values.put("inFlight", limit.getInFlight());
+            result.put(endpoint, values);
+        });
+        return result;
+    }
+
+    private boolean highPriorityBusy() {
+        for (Map.Entry<String, AdaptiveConcurrencyLimit> entry : limits.entrySet()) {
+            if (properties.getEndpoints().get(entry.getKey()) == Priority.HIGH
+                && entry.getValue().utilization() >= properties.getLowPriorityWatermark()) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private void reject(HttpServletResponse response, String endpoint, String message) throws IOException {
+        log.debug("request rejected. endpoint={}, reason={}", endpoint, message);
+        response.setStatus(HttpStatus.SERVICE_UNAVAILABLE.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(properties.getRetryAfterSeconds()));
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.setCharacterEncoding("UTF-8");
+        response.getWriter().write("{\"message\":\"" + message + "\"}");
+    }
+}
@@ -0,0 +1,81 @@
+package study.kimquerydsl.web;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.lang.reflect.Type;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import org.springframework.data.domain.Page;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.MediaType;
+import study.kimquerydsl.dto.MemberTeamDto;
+
+/**
+ * 길이 접두 바이너리 포맷 (중간 객체 없이 바로 스트림에 쓴다)
+ * <pre>
+ * int    magic (0x4B514D31, "KQM1")
+ * int    page number, int page size, long totalElements, int rowCount (빅엔디언 고정 길이)
+ * varint teamName 사전 크기, string * 사전 크기
+ * rowCount 번 반복:
+ *   varint memberId, string username, zigzag varint age,
+ *   varint teamId + 1 (0 = null), varint teamName 사전 인덱스 + 1 (0 = null)
+ * string = varint (UTF-8 바이트 길이 + 1, 0 = null) + UTF-8 바이트
+ * varint = 7비트씩 하위부터, 최상위 비트는 다음 바이트 존재 여부 (protobuf 와 동일)
+ * </pre>
+ */
+public class MemberTeamPageBinaryConverter extends AbstractMemberTeamPageConverter {
+
+    public static final MediaType MEDIA_TYPE = MediaType.parseMediaType("application/x-kimquerydsl-members");
+    public static final int MAGIC = 0x4B514D31;
+
+    public MemberTeamPageBinaryConverter() {
+        super(MEDIA_TYPE);
+    }
+
+    @Override
+    protected void writeInternal(Page<MemberTeamDto> page, Type type, HttpOutputMessage outputMessage)
+        throws IOException {
+
+        Map<String, Integer> dictionary = teamNameDictionary(page);
+        DataOutputStream out = new DataOutputStream(new BufferedOutputStream(outputMessage.getBody()));
+
+        out.writeInt(MAGIC);
+        out.writeInt(page.getNumber());
+        out.writeInt(page.getSize());
+        out.writeLong(page.getTotalElements());
+        out.writeInt(page.getNumberOfElements());
+
+        writeVarLong(out, dictionary.size());
+        for (String teamName : dictionary.keySet()) {
+            writeString(out, teamName);
+        }
+
+        for (MemberTeamDto row : page.getContent()) {
+            writeVarLong(out, row.getMemberId());
+            writeString(out, row.getUsername());
+            writeVarLong(out, Integer.toUnsignedLong((row.getAge() << 1) ^ (row.getAge() >> 31)));
+            writeVarLong(out, row.getTeamId() == null ? 0 : row.getTeamId() + 1);
+            writeVarLong(out, teamNameIndex(dictionary, row) + 1);
+        }
+        out.flush();
+    }
+
+    private void writeString(DataOutputStream out, String value) throws IOException {
+        if (value == null) {
+            writeVarLong(out, 0);
+            return;
+        }
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        writeVarLong(out, bytes.length + 1L);
+        out.write(bytes);
+    }
+
+    static void writeVarLong(DataOutputStream out, long value) throws IOException {
+        while ((value & ~0x7FL) != 0) {
+            out.writeByte((int) ((value & 0x7F) | 0x80));
+            value >>>= 7;
+        }
+        out.writeByte((int) value);
+    }
+}
@@ -0,0 +1,102 @@
+package study.kimquerydsl.web;
+
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import java.io.IOException;
+import java.lang.reflect.Type;
+import java.util.List;
+import java.util.Map;
+import org.springframework.data.domain.Page;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.MediaType;
+import study.kimquerydsl.dto.MemberTeamDto;
+
+/**
+ * 컬럼 기반 JSON. 필드명은 한 번만 쓰고, 팀 이름은 사전 인덱스로 바꾼다.
+ * <pre>
+ * {"page":{"number":0,"size":20,"totalElements":100,"totalPages":5},
+ *  "teamNames":["teamA","teamB"],
+ *  "columns":{"memberId":[..],"username":[..],"age":[..],"teamId":[..],"teamName":[0,1,..]}}
+ * </pre>
+ */
+public class MemberTeamPageColumnarConverter extends AbstractMemberTeamPageConverter {
+
+    // +json 접미사를 붙이면 먼저 등록된 Jackson 컨버터(application/*+json)가 가져가므로 붙이지 않는다.
+    public static final MediaType MEDIA_TYPE = MediaType.parseMediaType("application/vnd.kimquerydsl.columnar");
+
+    private final JsonFactory jsonFactory;
+
+    public MemberTeamPageColumnarConverter(JsonFactory jsonFactory) {
+        super(MEDIA_TYPE);
+        this.jsonFactory = jsonFactory;
+    }
+
+    @Override
+    protected void writeInternal(Page<MemberTeamDto> page, Type type, HttpOutputMessage outputMessage)
+        throws IOException {
+
+        List<MemberTeamDto> rows = page.getContent();
+        Map<String, Integer> dictionary = teamNameDictionary(page);
+
+        try (JsonGenerator generator = jsonFactory.createGenerator(outputMessage.getBody(), JsonEncoding.UTF8)) {
+            generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            generator.writeStartObject();
+
+            generator.writeObjectFieldStart("page");
+            generator.writeNumberField("number", page.getNumber());
+            generator.writeNumberField("size", page.getSize());
+            generator.writeNumberField("totalElements", page.getTotalElements());
+            generator.writeNumberField("totalPages", page.getTotalPages());
+            generator.writeEndObject();
+
+            generator.writeArrayFieldStart("teamNames");
+            for (String teamName : dictionary.keySet()) {
+                generator.writeString(teamName);
+            }
+            generator.writeEndArray();
+
+            generator.writeObjectFieldStart("columns");
+            generator.writeArrayFieldStart("memberId");
+            for (MemberTeamDto row : rows) {
+                writeNullableNumber(generator, row.getMemberId());
+            }
+            generator.writeEndArray();
+
+            generator.writeArrayFieldStart("username");
+            for (MemberTeamDto row : rows) {
+                generator.writeString(row.getUsername());
+            }
+            generator.writeEndArray();
+
+            generator.writeArrayFieldStart("age");
+            for (MemberTeamDto row : rows) {
+                generator.writeNumber(row.getAge());
+            }
+            generator.writeEndArray();
+
+            generator.writeArrayFieldStart("teamId");
+            for (MemberTeamDto row : rows) {
+                writeNullableNumber(generator, row.getTeamId());
+            }
+            generator.writeEndArray();
+
+            generator.writeArrayFieldStart("teamName");
+            for (MemberTeamDto row : rows) {
+                generator.writeNumber(teamNameIndex(dictionary, row));
+            }
+            generator.writeEndArray();
+            generator.writeEndObject();
+
+            generator.writeEndObject();
+        }
+    }
+
+    private void writeNullableNumber(JsonGenerator generator, Long value) throws IOException {
+        if (value == null) {
+            generator.writeNull();
+        } else {
+            generator.writeNumber(value);
+        }
+    }
+}
@@ -4,6 +4,8 @@ import static com.querydsl.jpa.JPAExpressions.*;
 import static org.assertj.core.api.Assertions.*;
 import static study.kimquerydsl.entity.QMember.*;
 import static study.kimquerydsl.entity.QTeam.*;
+import static study.kimquerydsl.repository.support.WindowExpressions.avgOver;
+import static study.kimquerydsl.repository.support.WindowExpressions.rankOver;
 
 import com.querydsl.core.BooleanBuilder;
 import com.querydsl.core.QueryResults;
@@ -790,4 +792,41 @@ public class QuerydslBasicTest {
             System.out.println("s = " + s);
         }
     }
-}
\ No newline at end of file
+
+    /**
+     * 팀 평균 나이보다 나이가 많은 회원 (윈도우 함수)
+     * subQueryGoe() 의 상관 서브쿼리 대신 avg() over (partition by team) 로 한 번에 조회
+     */
+    @Test
+    public void windowFunction() {
+        NumberExpression<Double> teamAvgAge = avgOver(member.age, member.team.id);
+
+        List<Tuple> result = queryFactory
+            .select(member.username, member.age, teamAvgAge)
+            .from(member)
+            .orderBy(member.username.asc())
+            .fetch();
+
+        assertThat(result).extracting(tuple -> tuple.get(teamAvgAge))
+            .containsExactly(15.0, 15.0, 35.0, 35.0);
+        assertThat(result.stream()
+            .filter(tuple -> tuple.get(member.age) > tuple.get(teamAvgAge))
+            .map(tuple -> tuple.get(member.username)))
+            .containsExactly("member2", "member4");
+    }
+
+    @Test
+    public void windowFunctionRank() {
+        // 팀 안에서 나이 많은 순 순위
+        NumberExpression<Long> rank = rankOver(member.team.id, member.age.desc());
+
+        List<Tuple> result = queryFactory
+            .select(member.username, rank)
+            .from(member)
+            .orderBy(member.username.asc())
+            .fetch();
+
+        assertThat(result).extracting(tuple -> tuple.get(rank))
+            .containsExactly(2L, 1L, 2L, 1L);
+    }
+}
@@ -0,0 +1,125 @@
+package study.kimquerydsl.controller;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.ResultMatcher;
+import org.springframework.transaction.annotation.Transactional;
+import study.kimquerydsl.config.MemberSearchProperties;
+import study.kimquerydsl.config.MemberSearchProperties.OverLimit;
+import study.kimquerydsl.entity.Member;
+import study.kimquerydsl.entity.Team;
+
+// /v1/members 최대 건수(maxRows = 2) 초과 시 동작
+@SpringBootTest(properties = {
+    "member.search.max-rows=2",
+    "member.search.query-timeout-millis.[search]=1500"
+})
+@AutoConfigureMockMvc
+@Transactional
+class MemberControllerTest {
+
+    @Autowired
+    MockMvc mockMvc;
+    @Autowired
+    EntityManager em;
+    @Autowired
+    ObjectMapper objectMapper;
+    @Autowired
+    MemberSearchProperties searchProperties;
+
+    OverLimit overLimit;
+
+    @BeforeEach
+    public void before() {
+        overLimit = searchProperties.getOverLimit();
+
+        Team teamA = new Team("limitTeamA");
+        Team teamB = new Team("limitTeamB");
+        em.persist(teamA);
+        em.persist(teamB);
+        em.persist(new Member("member1", 10, teamA));
+        em.persist(new Member("member2", 20, teamA));
+        em.persist(new Member("member3", 30, teamA));
+        em.persist(new Member("member4", 40, teamB));
+        em.flush();
+        em.clear();
+    }
+
+    @AfterEach
+    public void after() {
+        searchProperties.setOverLimit(overLimit);
+    }
+
+    @Test
+    public void underLimit() throws Exception {
+        searchProperties.setOverLimit(OverLimit.REJECT);
+
+        JsonNode json = search("limitTeamB", status().isOk());
+        assertThat(json).hasSize(1);
+        assertThat(json.get(0).get("username").asText()).isEqualTo("member4");
+    }
+
+    @Test
+    public void overLimitReject() throws Exception {
+        searchProperties.setOverLimit(OverLimit.REJECT);
+
+        mockMvc.perform(get("/v1/members").param("teamName", "limitTeamA"))
+            .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    public void overLimitStream() throws Exception {
+        searchProperties.setOverLimit(OverLimit.STREAM);
+
+        // 최대 건수를 넘어도 전체 결과를 JSON 배열로 스트리밍
+        JsonNode json = search("limitTeamA", status().isOk());
+        assertThat(json).hasSize(3);
+        assertThat(json.findValuesAsText("username")).containsExactlyInAnyOrder("member1", "member2", "member3");
+        assertThat(json.get(0).get("teamName").asText()).isEqualTo("limitTeamA");
+    }
+
+    @Test
+    public void queryTimeout() {
+        // 메서드별 설정이 있으면 그 값, 없으면 기본값이 쿼리 타임아웃 힌트로 들어간다.
+        assertThat(searchProperties.queryTimeout("search")).isEqualTo(1500);
+        assertThat(searchProperties.queryTimeout("findMember"))
+            .isEqualTo(searchProperties.getDefaultQueryTimeoutMillis());
+    }
+
+    private JsonNode search(String teamName, ResultMatcher status) throws Exception {
+        MvcResult result = mockMvc.perform(get("/v1/members").param("teamName", teamName))
+            .andExpect(status)
+            .andReturn();
+        assertThat(result.getResponse().getContentType()).startsWith(MediaType.APPLICATION_JSON_VALUE);
+        return objectMapper.readTree(result.getResponse().getContentAsByteArray());
+    }
+
+    @Test
+    public void noJoinSort() throws Exception {
+        MvcResult result = mockMvc.perform(get("/v4/members")
+                .param("teamName", "limitTeamA")
+                .param("sort", "age,desc"))
+            .andExpect(status().isOk())
+            .andReturn();
+        JsonNode content = objectMapper.readTree(result.getResponse().getContentAsByteArray()).get("content");
+        assertThat(content.findValuesAsText("username")).containsExactly("member3", "member2", "member1");
+
+        // 정렬할 수 없는 속성은 500 이 아니라 400
+        mockMvc.perform(get("/v4/members").param("sort", "unknown"))
+            .andExpect(status().isBadRequest());
+    }
+}
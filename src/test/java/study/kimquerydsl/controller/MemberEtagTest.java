@@ -0,0 +1,98 @@
+package study.kimquerydsl.controller;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import jakarta.persistence.EntityManager;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.transaction.support.TransactionTemplate;
+import study.kimquerydsl.entity.Member;
+import study.kimquerydsl.entity.Team;
+
+// 커밋 후에 ETag 가 바뀌는지 봐야 하므로 트랜잭션 없이 실행하고 직접 정리한다.
+@SpringBootTest
+@AutoConfigureMockMvc
+class MemberEtagTest {
+
+    private static final String URL = "/v2/members?teamName=etagTeam";
+
+    @Autowired
+    MockMvc mockMvc;
+    @Autowired
+    EntityManager em;
+    @Autowired
+    TransactionTemplate transactionTemplate;
+
+    List<Long> memberIds = new ArrayList<>();
+    Long teamId;
+
+    @AfterEach
+    public void after() {
+        transactionTemplate.executeWithoutResult(status -> {
+            memberIds.forEach(id -> em.remove(em.find(Member.class, id)));
+            if (teamId != null) {
+                em.remove(em.find(Team.class, teamId));
+            }
+        });
+    }
+
+    @Test
+    public void notModified() throws Exception {
+        MvcResult first = mockMvc.perform(get(URL))
+            .andExpect(status().isOk())
+            .andExpect(header().string(HttpHeaders.VARY, HttpHeaders.ACCEPT))
+            .andReturn();
+        String etag = first.getResponse().getHeader(HttpHeaders.ETAG);
+        assertThat(etag).startsWith("W/\"");
+
+        // 바뀐 것이 없으면 쿼리 없이 304, 본문 없음
+        MvcResult second = mockMvc.perform(get(URL).header(HttpHeaders.IF_NONE_MATCH, etag))
+            .andExpect(status().isNotModified())
+            .andExpect(header().string(HttpHeaders.ETAG, etag))
+            .andExpect(header().string(HttpHeaders.VARY, HttpHeaders.ACCEPT))
+            .andReturn();
+        assertThat(second.getResponse().getContentAsByteArray()).isEmpty();
+    }
+
+    @Test
+    public void etagChangesAfterCommit() throws Exception {
+        String etag = mockMvc.perform(get(URL))
+            .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        // 롤백된 변경은 ETag 를 바꾸지 않는다.
+        transactionTemplate.executeWithoutResult(status -> {
+            em.persist(new Team("rollbackTeam"));
+            em.flush();
+            status.setRollbackOnly();
+        });
+        mockMvc.perform(get(URL).header(HttpHeaders.IF_NONE_MATCH, etag))
+            .andExpect(status().isNotModified());
+
+        // 커밋된 변경 후에는 새 결과와 새 ETag
+        transactionTemplate.executeWithoutResult(status -> {
+            Team team = new Team("etagTeam");
+            em.persist(team);
+            Member member = new Member("etagMember", 10, team);
+            em.persist(member);
+            em.flush();
+            teamId = team.getId();
+            memberIds.add(member.getId());
+        });
+        MvcResult changed = mockMvc.perform(get(URL).header(HttpHeaders.IF_NONE_MATCH, etag))
+            .andExpect(status().isOk())
+            .andReturn();
+        assertThat(changed.getResponse().getHeader(HttpHeaders.ETAG)).isNotEqualTo(etag);
+        assertThat(changed.getResponse().getContentAsString()).contains("etagMember");
+    }
+}
@@ -0,0 +1,30 @@
+package study.kimquerydsl.controller;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class SqlStatsControllerTest {
+
+    @Autowired
+    MockMvc mockMvc;
+
+    @Test
+    public void sort() throws Exception {
+        mockMvc.perform(get("/v1/sql-stats").param("sort", "p99"))
+            .andExpect(status().isOk());
+        mockMvc.perform(get("/v1/sql-stats").param("sort", "AVG"))
+            .andExpect(status().isOk());
+
+        // 없는 정렬 기준은 500 이 아니라 400
+        mockMvc.perform(get("/v1/sql-stats").param("sort", "slowest"))
+            .andExpect(status().isBadRequest());
+    }
+}
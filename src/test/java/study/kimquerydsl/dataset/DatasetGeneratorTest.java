@@ -0,0 +1,153 @@
+package study.kimquerydsl.dataset;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import jakarta.persistence.EntityManager;
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+import study.kimquerydsl.entity.Member;
+import study.kimquerydsl.entity.Team;
+import study.kimquerydsl.event.EntityVersionCounters;
+import study.kimquerydsl.repository.TeamMemberCountRepository;
+
+// 배치마다 별도 트랜잭션으로 커밋하므로 직접 정리한다.
+@SpringBootTest
+class DatasetGeneratorTest {
+
+    @Autowired
+    DatasetGenerator datasetGenerator;
+    @Autowired
+    JdbcTemplate jdbcTemplate;
+    @Autowired
+    TeamMemberCountRepository teamMemberCountRepository;
+    @Autowired
+    EntityManager em;
+    @Autowired
+    TransactionTemplate transactionTemplate;
+    @Autowired
+    EntityVersionCounters versionCounters;
+
+    long maxMemberId;
+    long maxTeamId;
+
+    @BeforeEach
+    public void before() {
+        maxMemberId = maxId("member", "member_id");
+        maxTeamId = maxId("team", "team_id");
+    }
+
+    @AfterEach
+    public void after() {
+        clean();
+        teamMemberCountRepository.rebuild();
+    }
+
+    @Test
+    public void sameSeedSameData() {
+        datasetGenerator.generate(properties(4));
+        List<Map<String, Object>> first = generatedMembers();
+        clean();
+
+        datasetGenerator.generate(properties(1));
+        List<Map<String, Object>> second = generatedMembers();
+
+        assertThat(first).hasSize(2_000);
+        assertThat(second).isEqualTo(first);
+    }
+
+    @Test
+    public void zipfSkew() {
+        datasetGenerator.generate(properties(2));
+
+        Long first = countByTeam(DatasetGenerator.TEAM_NAME_PREFIX + 0);
+        Long last = countByTeam(DatasetGenerator.TEAM_NAME_PREFIX + 9);
+        assertThat(first).isGreaterThan(last * 3);
+
+        Integer usernames = jdbcTemplate.queryForObject(
+            "select count(distinct username) from member where member_id > ?", Integer.class, maxMemberId);
+        assertThat(usernames).isEqualTo(2_000);
+
+        Map<String, Object> ages = jdbcTemplate.queryForMap(
+            "select min(age) min_age, max(age) max_age from member where member_id > ?", maxMemberId);
+        assertThat(((Number) ages.get("min_age")).intValue()).isGreaterThanOrEqualTo(10);
+        assertThat(((Number) ages.get("max_age")).intValue()).isLessThanOrEqualTo(80);
+    }
+
+    @Test
+    public void idsDoNotCollideWithPersist() {
+        // 적재 전에 이 노드가 받아 둔 id 블록이 있어도, 적재 후 persist 가 적재한 id 와 겹치지 않는다. (겹치면 PK 위반)
+        Long before = persist("persistBefore");
+        datasetGenerator.generate(properties(2));
+        Long after = persist("persistAfter");
+
+        assertThat(after).isNotEqualTo(before);
+        assertThat(generatedMembers()).hasSize(2_002);
+    }
+
+    @Test
+    public void etagChangesAfterLoad() {
+        // 적재는 하이버네이트 이벤트 없이 JDBC 로 쓰므로 이 노드의 ETag 도 직접 바뀌어야 한다.
+        String before = versionCounters.etag(Member.class, Team.class);
+        datasetGenerator.generate(properties(2));
+
+        assertThat(versionCounters.etag(Member.class, Team.class)).isNotEqualTo(before);
+    }
+
+    @Test
+    public void sampleFromCdf() {
+        double[] uniform = DatasetGenerator.zipfCdf(4, 0);
+        assertThat(DatasetGenerator.sample(uniform, 0.1)).isEqualTo(0);
+        assertThat(DatasetGenerator.sample(uniform, 0.3)).isEqualTo(1);
+        assertThat(DatasetGenerator.sample(uniform, 0.99)).isEqualTo(3);
+
+        double[] skewed = DatasetGenerator.zipfCdf(4, 2);
+        assertThat(skewed[0]).isGreaterThan(0.6);
+        assertThat(skewed[3]).isEqualTo(1.0);
+    }
+
+    private DatasetProperties properties(int parallelism) {
+        DatasetProperties properties = new DatasetProperties();
+        properties.setMembers(2_000);
+        properties.setTeams(10);
+        properties.setZipfExponent(1.5);
+        properties.setBatchSize(300);
+        properties.setParallelism(parallelism);
+        properties.setSeed(7);
+        return properties;
+    }
+
+    private Long persist(String username) {
+        return transactionTemplate.execute(status -> {
+            Member member = new Member(username, 10);
+            em.persist(member);
+            return member.getId();
+        });
+    }
+
+    private List<Map<String, Object>> generatedMembers() {
+        return jdbcTemplate.queryForList(
+            "select username, age, team_name from member where member_id > ? order by member_id", maxMemberId);
+    }
+
+    private Long countByTeam(String teamName) {
+        return jdbcTemplate.queryForObject(
+            "select count(*) from member where member_id > ? and team_name = ?", Long.class, maxMemberId, teamName);
+    }
+
+    private void clean() {
+        jdbcTemplate.update("delete from member where member_id > ?", maxMemberId);
+        jdbcTemplate.update("delete from team where team_id > ?", maxTeamId);
+    }
+
+    private long maxId(String table, String idColumn) {
+        Long max = jdbcTemplate.queryForObject("select max(" + idColumn + ") from " + table, Long.class);
+        return max == null ? 0 : max;
+    }
+}
@@ -0,0 +1,43 @@
+package study.kimquerydsl.dataset;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.annotation.DirtiesContext;
+
+// 기본(local) 프로파일의 샘플 데이터(InitMember) 위에 dataset 프로파일로 적재해도 회원명이 겹치지 않는다.
+@SpringBootTest(properties = {
+    "spring.profiles.active=local,dataset",
+    "dataset.members=500",
+    "dataset.teams=5",
+    "dataset.batch-size=100",
+    "dataset.parallelism=2"
+})
+@DirtiesContext
+class DatasetLoaderTest {
+
+    @Autowired
+    JdbcTemplate jdbcTemplate;
+
+    @AfterEach
+    public void after() {
+        jdbcTemplate.update("delete from team_member_count");
+        jdbcTemplate.update("delete from member");
+        jdbcTemplate.update("delete from team");
+    }
+
+    @Test
+    public void loadOverLocalSampleData() {
+        Long samples = jdbcTemplate.queryForObject(
+            "select count(*) from member where username like 'member%'", Long.class);
+        Long generated = jdbcTemplate.queryForObject(
+            "select count(*) from member where username like ?", Long.class, DatasetGenerator.USERNAME_PREFIX + "%");
+
+        assertThat(samples).isEqualTo(100);
+        assertThat(generated).isEqualTo(500);
+    }
+}
@@ -0,0 +1,70 @@
+package study.kimquerydsl.event;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import study.kimquerydsl.config.CacheInvalidationProperties;
+import study.kimquerydsl.entity.Member;
+import study.kimquerydsl.entity.Team;
+
+// 같은 DB 를 보는 두 노드를 흉내낸다. (트랜잭션 없이 실제로 커밋)
+@SpringBootTest
+class JdbcCacheInvalidationBusTest {
+
+    @Autowired
+    JdbcTemplate jdbcTemplate;
+
+    JdbcCacheInvalidationBus nodeA;
+    JdbcCacheInvalidationBus nodeB;
+
+    @BeforeEach
+    public void before() {
+        CacheInvalidationProperties properties = new CacheInvalidationProperties();
+        properties.setPollIntervalMillis(60_000); // 테스트에서 직접 poll
+        nodeA = new JdbcCacheInvalidationBus(jdbcTemplate, properties);
+        nodeB = new JdbcCacheInvalidationBus(jdbcTemplate, properties);
+        nodeA.start();
+        nodeB.start();
+    }
+
+    @AfterEach
+    public void after() {
+        nodeA.close();
+        nodeB.close();
+        jdbcTemplate.update("delete from cache_invalidation");
+    }
+
+    @Test
+    public void deliverToOtherNode() {
+        List<CacheInvalidation> receivedA = new CopyOnWriteArrayList<>();
+        List<CacheInvalidation> receivedB = new CopyOnWriteArrayList<>();
+        nodeA.subscribe(receivedA::add);
+        nodeB.subscribe(receivedB::add);
+
+        nodeA.publish(Member.class, 1L);
+        nodeA.publish(Team.class, null);
+
+        // 자기 노드에는 바로 전달
+        assertThat(receivedA).hasSize(2);
+        assertThat(receivedB).isEmpty();
+
+        assertThat(nodeA.flushOutbox()).isEqualTo(2);
+        assertThat(nodeA.poll()).isZero(); // 자기 메시지는 다시 받지 않는다
+        assertThat(nodeB.poll()).isEqualTo(2);
+        assertThat(nodeB.poll()).isZero(); // 중복 전달 없음
+
+        assertThat(receivedB).extracting("entityType", "entityId")
+            .containsExactly(
+                tuple(Member.class.getName(), 1L),
+                tuple(Team.class.getName(), null));
+        assertThat(receivedB).allMatch(m -> m.isFrom(nodeA.nodeId()));
+    }
+}
@@ -0,0 +1,42 @@
+package study.kimquerydsl.monitor;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.Test;
+import study.kimquerydsl.dto.SqlStatsSnapshot;
+import study.kimquerydsl.monitor.SqlStatsListener.SortBy;
+
+class SqlStatsListenerTest {
+
+    @Test
+    public void fingerprint() {
+        assertThat(SqlFingerprint.of("/* select m from Member m */ select m1_0.member_id from member m1_0 "
+            + "where m1_0.username = 'member1' and m1_0.age >= 20"))
+            .isEqualTo("select m1_0.member_id from member m1_0 where m1_0.username = ? and m1_0.age >= ?");
+
+        // in 절 길이가 달라도 같은 지문
+        assertThat(SqlFingerprint.of("select * from member where member_id in (?, ?, ?)"))
+            .isEqualTo(SqlFingerprint.of("select * from member where member_id in (1,2,3,4,5,6,7,8)"))
+            .isEqualTo("select * from member where member_id in (?+)");
+    }
+
+    @Test
+    public void topN() {
+        SqlStatsListener listener = new SqlStatsListener(100);
+        for (int i = 0; i < 10; i++) {
+            listener.record("select * from member where member_id = " + i, TimeUnit.MILLISECONDS.toNanos(1), false);
+        }
+        listener.record("select * from team", TimeUnit.MILLISECONDS.toNanos(50), false);
+
+        List<SqlStatsSnapshot> byCount = listener.top(1, SortBy.COUNT);
+        assertThat(byCount).hasSize(1);
+        assertThat(byCount.get(0).getFingerprint()).isEqualTo("select * from member where member_id = ?");
+        assertThat(byCount.get(0).getCount()).isEqualTo(10);
+
+        List<SqlStatsSnapshot> byMax = listener.top(1, SortBy.MAX);
+        assertThat(byMax.get(0).getFingerprint()).isEqualTo("select * from team");
+        assertThat(byMax.get(0).getMaxMillis()).isEqualTo(50.0);
+    }
+}
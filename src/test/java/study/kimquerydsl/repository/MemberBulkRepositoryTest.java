@@ -0,0 +1,171 @@
+package study.kimquerydsl.repository;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import jakarta.persistence.EntityManager;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Transactional;
+import study.kimquerydsl.dto.MemberSearchCondition;
+import study.kimquerydsl.entity.Member;
+import study.kimquerydsl.entity.Team;
+
+@SpringBootTest
+@Transactional
+class MemberBulkRepositoryTest {
+
+    @Autowired
+    EntityManager em;
+    @Autowired
+    MemberBulkRepository memberBulkRepository;
+    @Autowired
+    JdbcTemplate jdbcTemplate;
+
+    Team teamA;
+    Team teamB;
+    Member member1;
+    Member member4;
+
+    @BeforeEach
+    public void before() {
+        teamA = new Team("teamA");
+        teamB = new Team("teamB");
+        em.persist(teamA);
+        em.persist(teamB);
+
+        member1 = new Member("member1", 10, teamA);
+        Member member2 = new Member("member2", 20, teamA);
+        Member member3 = new Member("member3", 30, teamB);
+        member4 = new Member("member4", 40, teamB);
+
+        em.persist(member1);
+        em.persist(member2);
+        em.persist(member3);
+        em.persist(member4);
+    }
+
+    @Test
+    public void reassignTeamByCondition() {
+        MemberSearchCondition condition = new MemberSearchCondition();
+        condition.setTeamName("teamA");
+        condition.setAgeGoe(15);
+
+        long updated = memberBulkRepository.reassignTeam(condition, teamB.getId());
+
+        assertThat(updated).isEqualTo(1);
+        Member findMember = em.createQuery("select m from Member m where m.username = 'member2'", Member.class)
+            .getSingleResult();
+        assertThat(findMember.getTeam().getName()).isEqualTo("teamB");
+    }
+
+    @Test
+    public void reassignTeamKeepsMemberCounts() {
+        MemberSearchCondition condition = new MemberSearchCondition();
+        condition.setTeamName("teamA");
+
+        memberBulkRepository.reassignTeam(condition, teamB.getId());
+        memberBulkRepository.reassignTeam(List.of(member4.getId()), teamA.getId());
+
+        // 팀별 회원 수는 잠근 회원(실제로 옮긴 회원)으로 계산한다.
+        assertThat(memberCount(teamA.getId())).isEqualTo(1);
+        assertThat(memberCount(teamB.getId())).isEqualTo(3);
+    }
+
+    @Test
+    public void reassignTeamByIds() {
+        long updated = memberBulkRepository.reassignTeam(
+            List.of(member1.getId(), member4.getId(), member4.getId()), teamA.getId());
+
+        // member4 만 팀이 바뀐다. (member1 은 이미 teamA)
+        assertThat(updated).isEqualTo(1);
+
+        Team findTeam = em.find(Team.class, teamA.getId());
+        assertThat(em.getEntityManagerFactory().getPersistenceUnitUtil()
+            .isLoaded(findTeam, "members")).isFalse();
+        assertThat(findTeam.getMembers()).extracting("username")
+            .containsExactlyInAnyOrder("member1", "member2", "member4");
+    }
+
+    @Test
+    public void renameTeam() {
+        long updated = memberBulkRepository.renameTeam(teamA.getId(), "teamC");
+
+        assertThat(updated).isEqualTo(2);
+        assertThat(em.find(Team.class, teamA.getId()).getName()).isEqualTo("teamC");
+        List<String> teamNames = em.createQuery(
+                "select m.teamName from Member m where m.team.id = :teamId", String.class)
+            .setParameter("teamId", teamA.getId())
+            .getResultList();
+        assertThat(teamNames).containsOnly("teamC");
+    }
+
+    @Test
+    public void moveToTeam() {
+        boolean moved = memberBulkRepository.moveToTeam(member1.getId(), teamB.getId(), 3);
+        boolean again = memberBulkRepository.moveToTeam(member1.getId(), teamB.getId(), 3);
+
+        assertThat(moved).isTrue();
+        assertThat(again).isFalse(); // 이미 대상 팀
+
+        em.clear();
+        Member findMember = em.find(Member.class, member1.getId());
+        assertThat(findMember.getTeam().getId()).isEqualTo(teamB.getId());
+        assertThat(findMember.getTeamName()).isEqualTo("teamB");
+    }
+
+    @Test
+    public void moveToTeamReadsCurrentTeamName() {
+        // 호출한 쪽이 팀을 읽은 뒤 팀 이름이 바뀌어도 update 시점의 이름이 들어간다.
+        em.flush();
+        jdbcTemplate.update("update team set name = ? where team_id = ?", "teamB2", teamB.getId());
+
+        memberBulkRepository.moveToTeam(member1.getId(), teamB.getId(), 3);
+
+        String teamName = jdbcTemplate.queryForObject(
+            "select team_name from member where member_id = ?", String.class, member1.getId());
+        assertThat(teamName).isEqualTo("teamB2");
+    }
+
+    @Test
+    public void bulkUpdateKeepsPendingChanges() {
+        // 벌크 연산 전에 바꾼 값(아직 flush 안 됨)은 영속성 컨텍스트를 비워도 버려지지 않는다.
+        member1.setAge(11);
+
+        memberBulkRepository.renameTeam(teamA.getId(), "teamA2");
+
+        assertThat(em.contains(member1)).isFalse();
+        Member findMember = em.find(Member.class, member1.getId());
+        assertThat(findMember.getAge()).isEqualTo(11);
+        assertThat(findMember.getTeamName()).isEqualTo("teamA2");
+    }
+
+    @Test
+    public void usernameIsUnique() {
+        em.flush();
+
+        // upsert 의 조회와 insert 사이에 다른 트랜잭션이 같은 username 을 넣은 경우 유니크 제약에 걸린다.
+        assertThatThrownBy(() -> jdbcTemplate.update(
+            "insert into member (member_id, username, age) values (?, ?, ?)", -1L, "member1", 99))
+            .isInstanceOf(DuplicateKeyException.class);
+    }
+
+    @Test
+    public void teamNameIsUnique() {
+        em.flush();
+
+        // 두 가져오기가 같은 새 팀명을 동시에 만들면 나중 쪽이 유니크 제약에 걸리고, 다시 조회해서 먼저 만든 팀을 쓴다.
+        assertThatThrownBy(() -> memberBulkRepository.insertTeams(List.of("teamA")))
+            .isInstanceOf(DuplicateKeyException.class);
+    }
+
+    private Long memberCount(Long teamId) {
+        return jdbcTemplate.queryForObject(
+            "select coalesce(sum(member_count), 0) from team_member_count where team_id = ?", Long.class, teamId);
+    }
+}
@@ -2,16 +2,26 @@ package study.kimquerydsl.repository;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
+import jakarta.persistence.EntityGraph;
 import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
+import java.util.stream.Stream;
+import org.hibernate.Session;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.transaction.annotation.Transactional;
 import study.kimquerydsl.dto.MemberSearchCondition;
 import study.kimquerydsl.dto.MemberTeamDto;
+import study.kimquerydsl.dto.TeamMembersDto;
 import study.kimquerydsl.entity.Member;
 import study.kimquerydsl.entity.Team;
+import study.kimquerydsl.repository.support.FetchPlans;
 
 @SpringBootTest
 @Transactional
@@ -20,7 +30,11 @@ class MemberJpaRepositoryTest {
     @Autowired
     EntityManager em;
     @Autowired
+    EntityManagerFactory emf;
+    @Autowired
     MemberJpaRepository memberJpaRepository;
+    @Autowired
+    MemberTestRepository memberTestRepository;
 
     @Test
     public void basicTest() {
@@ -64,4 +78,197 @@ class MemberJpaRepositoryTest {
 
         assertThat(result).extracting("username").containsExactly("member4");
     }
-}
\ No newline at end of file
+
+    @Test
+    public void fetchPlanTest() {
+        Team teamA = new Team("teamA");
+        em.persist(teamA);
+        em.persist(new Member("member1", 10, teamA));
+        em.persist(new Member("member2", 20, teamA));
+        em.flush();
+        em.clear();
+
+        MemberSearchCondition condition = new MemberSearchCondition();
+
+        // fetch plan 없음: team 은 프록시
+        List<Member> lazy = memberJpaRepository.findMember(condition);
+        assertThat(lazy).allMatch(m -> !emf.getPersistenceUnitUtil().isLoaded(m.getTeam()));
+        em.clear();
+
+        // 이름 있는 그래프
+        List<Member> named = memberJpaRepository.findMember(condition,
+            (EntityGraph<Member>) em.getEntityGraph(Member.GRAPH_TEAM));
+        assertThat(named).allMatch(m -> emf.getPersistenceUnitUtil().isLoaded(m.getTeam()));
+        em.clear();
+
+        // 동적 그래프 + 페이징
+        Page<Member> page = memberTestRepository.searchPageByApplyPage(condition, PageRequest.of(0, 1),
+            FetchPlans.of(em, Member.class, "team"));
+        assertThat(page.getTotalElements()).isEqualTo(2);
+        assertThat(page.getContent()).hasSize(1)
+            .allMatch(m -> emf.getPersistenceUnitUtil().isLoaded(m.getTeam()));
+    }
+
+    @Test
+    public void findAllByIdsTest() {
+        List<Long> ids = new ArrayList<>();
+        for (int i = 0; i < 600; i++) {
+            Member member = new Member("member" + i, i);
+            em.persist(member);
+            ids.add(member.getId());
+        }
+        em.flush();
+        em.clear();
+
+        Collections.reverse(ids);
+        ids.add(-1L); // 없는 id
+
+        List<Member> result = memberJpaRepository.findAllByIds(ids);
+
+        assertThat(result).hasSize(600);
+        assertThat(result).extracting("id").containsExactlyElementsOf(ids.subList(0, 600));
+    }
+
+    @Test
+    public void findAllByIdTest() {
+        List<Long> ids = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            Member member = new Member("member" + i, i);
+            em.persist(member);
+            ids.add(member.getId());
+        }
+        em.flush();
+        em.clear();
+
+        Member managed = em.find(Member.class, ids.get(2)); // 영속성 컨텍스트에 있는 회원은 그대로 반환
+        Collections.reverse(ids);
+        ids.add(-1L); // 없는 id
+        ids.add(ids.get(0)); // 중복
+
+        List<Member> result = memberJpaRepository.findAllById(ids);
+
+        assertThat(result).extracting("id").containsExactlyElementsOf(ids.subList(0, 5));
+        assertThat(result).contains(managed);
+        assertThat(result.get(2)).isSameAs(managed);
+
+        // Querydsl4RepositorySupport 도메인 클래스 기준
+        List<Member> supportResult = memberTestRepository.findAllById(ids, 2);
+        assertThat(supportResult).containsExactlyElementsOf(result);
+    }
+
+    @Test
+    public void readOnlyTest() {
+        Team teamA = new Team("teamA");
+        em.persist(teamA);
+        em.persist(new Member("member1", 10, teamA));
+        em.flush();
+        em.clear();
+
+        MemberSearchCondition condition = new MemberSearchCondition();
+        condition.setUsername("member1");
+        List<Member> result = memberJpaRepository.findMemberReadOnly(condition,
+            FetchPlans.of(em, Member.class, "team"));
+
+        Session session = em.unwrap(Session.class);
+        Member findMember = result.get(0);
+        assertThat(session.isReadOnly(findMember)).isTrue();
+        assertThat(session.isReadOnly(findMember.getTeam())).isTrue();
+
+        // 스냅샷이 없으므로 변경 감지 대상이 아니다.
+        findMember.setAge(99);
+        em.flush();
+        em.clear();
+        assertThat(memberJpaRepository.findMember(condition).get(0).getAge()).isEqualTo(10);
+        em.clear();
+
+        assertThat(memberTestRepository.basicSelectReadOnly()).allMatch(session::isReadOnly);
+    }
+
+    @Test
+    public void readOnlyQueryDoesNotAutoFlush() {
+        em.persist(new Member("member1", 10));
+
+        assertThat(memberJpaRepository.findAll_QuerydslReadOnly()).isEmpty();
+        assertThat(memberJpaRepository.findAll_Querydsl()).hasSize(1); // 기본 모드는 쿼리 전에 flush
+    }
+
+    @Test
+    public void streamTeamMembersTest() {
+        Team teamA = new Team("streamA");
+        Team teamB = new Team("streamB");
+        em.persist(teamA);
+        em.persist(teamB);
+        em.persist(new Member("member1", 10, teamB));
+        em.persist(new Member("member2", 20, teamA));
+        em.persist(new Member("member3", 30, teamB));
+        em.persist(new Member("member4", 40, teamA));
+        em.flush();
+        em.clear();
+
+        MemberSearchCondition condition = new MemberSearchCondition();
+        condition.setAgeGoe(20);
+
+        List<TeamMembersDto> result;
+        try (Stream<TeamMembersDto> groups = memberJpaRepository.streamTeamMembers(condition)) {
+            result = groups.filter(group -> group.getTeamName().startsWith("stream")).toList();
+        }
+
+        assertThat(result).extracting("teamName").containsExactly("streamA", "streamB");
+        assertThat(result.get(0).getMembers()).extracting("username").containsExactly("member2", "member4");
+        assertThat(result.get(1).getMembers()).extracting("username").containsExactly("member3");
+    }
+
+    @Test
+    public void findOlderThanTeamAverageTest() {
+        Team teamA = new Team("avgTeamA");
+        Team teamB = new Team("avgTeamB");
+        em.persist(teamA);
+        em.persist(teamB);
+
+        em.persist(new Member("avgMember1", 10, teamA));
+        em.persist(new Member("avgMember2", 20, teamA));
+        Member older = new Member("avgMember3", 30, teamA);
+        em.persist(older);
+        em.persist(new Member("avgMember4", 40, teamB));
+        em.persist(new Member("avgMember5", 40, teamB));
+        em.persist(new Member("avgMember6", 99));
+        em.flush();
+        em.clear();
+
+        List<MemberTeamDto> result = memberJpaRepository.findOlderThanTeamAverage();
+
+        // 팀A 평균 20 보다 많은 회원만, 평균과 같은 팀B 회원과 팀 없는 회원은 빠진다.
+        assertThat(result).extracting("username").containsExactly("avgMember3");
+        assertThat(result.get(0).getTeamId()).isEqualTo(teamA.getId());
+        assertThat(result.get(0).getTeamName()).isEqualTo("avgTeamA");
+    }
+
+    @Test
+    public void applyPagination3Test() {
+        Team teamA = new Team("pageTeamA");
+        Team teamB = new Team("pageTeamB");
+        em.persist(teamA);
+        em.persist(teamB);
+        em.persist(new Member("pageMember1", 10, teamA));
+        em.persist(new Member("pageMember2", 20, teamA));
+        em.persist(new Member("pageMember3", 30, teamA));
+        em.persist(new Member("pageMember4", 40, teamB));
+        em.flush();
+        em.clear();
+
+        // 팀명 조건만 있으면 팀별 회원 수 테이블로 total 을 구한다.
+        MemberSearchCondition byTeam = new MemberSearchCondition();
+        byTeam.setTeamName("pageTeamA");
+        Page<Member> teamPage = memberTestRepository.applyPagination3(byTeam, PageRequest.of(0, 2));
+        assertThat(teamPage.getContent()).hasSize(2);
+        assertThat(teamPage.getTotalElements()).isEqualTo(3);
+
+        // 나이 조건이 있으면 카운트 쿼리로 구한다.
+        MemberSearchCondition byTeamAndAge = new MemberSearchCondition();
+        byTeamAndAge.setTeamName("pageTeamA");
+        byTeamAndAge.setAgeGoe(20);
+        Page<Member> agePage = memberTestRepository.applyPagination3(byTeamAndAge, PageRequest.of(0, 1));
+        assertThat(agePage.getContent()).hasSize(1);
+        assertThat(agePage.getTotalElements()).isEqualTo(2);
+    }
+}
@@ -1,6 +1,7 @@
 package study.kimquerydsl.repository;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static study.kimquerydsl.entity.QMember.member;
 
 import jakarta.persistence.EntityManager;
@@ -10,6 +11,7 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
 import org.springframework.transaction.annotation.Transactional;
 import study.kimquerydsl.dto.MemberSearchCondition;
 import study.kimquerydsl.dto.MemberTeamDto;
@@ -95,6 +97,38 @@ class MemberRepositoryTest {
             .containsExactly("member1", "member2", "member3");
     }
 
+    @Test
+    public void searchPageNoJoinTest() {
+        Team teamA = new Team("teamA");
+        Team teamB = new Team("teamB");
+        em.persist(teamA);
+        em.persist(teamB);
+
+        em.persist(new Member("member1", 10, teamB));
+        em.persist(new Member("member2", 20, teamA));
+        em.persist(new Member("member3", 30, teamB));
+        em.persist(new Member("member4", 40, teamA));
+
+        PageRequest pageRequest = PageRequest.of(0, 3, Sort.by("teamName", "username"));
+
+        Page<MemberTeamDto> result = memberRepository.searchPageNoJoin(new MemberSearchCondition(), pageRequest);
+
+        assertThat(result.getTotalElements()).isEqualTo(4);
+        assertThat(result.getContent()).extracting("username")
+            .containsExactly("member2", "member4", "member1");
+        assertThat(result.getContent()).extracting("teamName")
+            .containsExactly("teamA", "teamA", "teamB");
+    }
+
+    @Test
+    public void searchPageNoJoinUnsupportedSort() {
+        // 클라이언트 입력 오류는 전용 예외로 그대로 나간다. (IllegalArgumentException 처럼 변환되지 않는다)
+        PageRequest pageRequest = PageRequest.of(0, 3, Sort.by("unknown"));
+
+        assertThatThrownBy(() -> memberRepository.searchPageNoJoin(new MemberSearchCondition(), pageRequest))
+            .isInstanceOf(UnsupportedSortException.class);
+    }
+
     @Test
     public void querydslPredicateExecutorTest() {
         Iterable<Member> result = memberRepository.findAll(
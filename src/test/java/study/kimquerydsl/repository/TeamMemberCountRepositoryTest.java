@@ -0,0 +1,112 @@
+package study.kimquerydsl.repository;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import jakarta.persistence.EntityManager;
+import java.util.Map;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Transactional;
+import study.kimquerydsl.dto.MemberSearchCondition;
+import study.kimquerydsl.entity.Member;
+import study.kimquerydsl.entity.Team;
+import study.kimquerydsl.entity.TeamMemberCount;
+
+@SpringBootTest
+@Transactional
+class TeamMemberCountRepositoryTest {
+
+    @Autowired
+    EntityManager em;
+    @Autowired
+    TeamMemberCountRepository teamMemberCountRepository;
+    @Autowired
+    JdbcTemplate jdbcTemplate;
+
+    @Test
+    public void tryCount() {
+        MemberSearchCondition all = new MemberSearchCondition();
+        long before = teamMemberCountRepository.tryCount(all).getAsLong();
+
+        Team teamA = new Team("countTeamA");
+        Team teamB = new Team("countTeamB");
+        em.persist(teamA);
+        em.persist(teamB);
+
+        Member member1 = new Member("member1", 10, teamA);
+        Member member2 = new Member("member2", 20, teamA);
+        Member member3 = new Member("member3", 30, teamB);
+        em.persist(member1);
+        em.persist(member2);
+        em.persist(member3);
+        em.persist(new Member("member4", 40));
+        em.flush();
+
+        MemberSearchCondition byTeamA = new MemberSearchCondition();
+        byTeamA.setTeamName("countTeamA");
+        MemberSearchCondition byTeamB = new MemberSearchCondition();
+        byTeamB.setTeamName("countTeamB");
+
+        assertThat(teamMemberCountRepository.tryCount(all).getAsLong()).isEqualTo(before + 4);
+        assertThat(teamMemberCountRepository.tryCount(byTeamA).getAsLong()).isEqualTo(2);
+
+        // 팀 변경, 삭제
+        member1.changeTeam(teamB);
+        em.remove(member3);
+        em.flush();
+
+        assertThat(teamMemberCountRepository.tryCount(byTeamA).getAsLong()).isEqualTo(1);
+        assertThat(teamMemberCountRepository.tryCount(byTeamB).getAsLong()).isEqualTo(1);
+        assertThat(teamMemberCountRepository.tryCount(all).getAsLong()).isEqualTo(before + 3);
+
+        // 나이 조건은 카운트 쿼리로 넘긴다.
+        MemberSearchCondition byAge = new MemberSearchCondition();
+        byAge.setAgeGoe(20);
+        assertThat(teamMemberCountRepository.tryCount(byAge)).isEmpty();
+    }
+
+    @Test
+    public void blankConditionIsAFilter() {
+        // 검색 쿼리는 공백 문자열도 조건으로 쓰므로 카운트 테이블로 답하면 안 된다.
+        MemberSearchCondition blankUsername = new MemberSearchCondition();
+        blankUsername.setUsername(" ");
+        assertThat(teamMemberCountRepository.tryCount(blankUsername)).isEmpty();
+
+        // 공백 팀명은 그 이름의 팀만 센다.
+        em.persist(new Member("member1", 10));
+        em.flush();
+        MemberSearchCondition blankTeamName = new MemberSearchCondition();
+        blankTeamName.setTeamName(" ");
+        assertThat(teamMemberCountRepository.tryCount(blankTeamName).getAsLong()).isEqualTo(0);
+    }
+
+    @Test
+    public void stripedRows() {
+        Team team = new Team("stripeTeam");
+        em.persist(team);
+        em.persist(new Member("member1", 10, team));
+        em.flush();
+
+        // 다른 스레드에서 들어온 가입이 다른 slot 행에 쌓인 상황
+        int otherSlot = (TeamMemberCount.currentSlot() + 1) % TeamMemberCount.STRIPES;
+        jdbcTemplate.update(TeamMemberCountRepository.MERGE_SQL, team.getId(), otherSlot, 2L);
+        teamMemberCountRepository.addAll(Map.of(team.getId(), 1L));
+
+        MemberSearchCondition byTeam = new MemberSearchCondition();
+        byTeam.setTeamName("stripeTeam");
+        assertThat(slotRows(team.getId())).isEqualTo(2);
+        assertThat(teamMemberCountRepository.tryCount(byTeam).getAsLong()).isEqualTo(4);
+
+        // 다시 계산하면 실제 회원 수로 slot 0 한 행에 모인다.
+        teamMemberCountRepository.rebuild();
+        assertThat(slotRows(team.getId())).isEqualTo(1);
+        assertThat(teamMemberCountRepository.tryCount(byTeam).getAsLong()).isEqualTo(1);
+    }
+
+    private Integer slotRows(Long teamId) {
+        return jdbcTemplate.queryForObject(
+            "select count(*) from team_member_count where team_id = ?", Integer.class, teamId);
+    }
+}
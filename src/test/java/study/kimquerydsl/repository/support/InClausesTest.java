@@ -0,0 +1,30 @@
+package study.kimquerydsl.repository.support;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.LongStream;
+import org.junit.jupiter.api.Test;
+
+class InClausesTest {
+
+    @Test
+    public void pad() {
+        assertThat(InClauses.pad(List.of(1L))).containsExactly(1L);
+        assertThat(InClauses.pad(List.of(1L, 2L, 3L))).containsExactly(1L, 2L, 3L, 3L);
+        assertThat(InClauses.pad(List.of(1L, 2L, 3L, 4L, 5L))).hasSize(8).endsWith(5L, 5L, 5L, 5L);
+    }
+
+    @Test
+    public void paddedChunks() {
+        List<Long> ids = LongStream.rangeClosed(1, 600).boxed().collect(Collectors.toList());
+        ids.add(1L); // 중복
+
+        List<List<Long>> chunks = InClauses.paddedChunks(ids);
+
+        assertThat(chunks).hasSize(2);
+        assertThat(chunks.get(0)).hasSize(InClauses.MAX_SIZE).startsWith(1L);
+        assertThat(chunks.get(1)).hasSize(128).startsWith(513L).endsWith(600L);
+    }
+}
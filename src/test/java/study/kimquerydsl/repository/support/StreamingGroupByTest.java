@@ -0,0 +1,46 @@
+package study.kimquerydsl.repository.support;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Stream;
+import org.junit.jupiter.api.Test;
+
+class StreamingGroupByTest {
+
+    @Test
+    public void groupAdjacentRows() {
+        List<List<String>> groups = groupByFirstChar(Stream.of("a1", "a2", "b1", "c1", "c2", "c3")).toList();
+
+        assertThat(groups).containsExactly(List.of("a1", "a2"), List.of("b1"), List.of("c1", "c2", "c3"));
+    }
+
+    @Test
+    public void emitGroupBeforeReadingAllRows() {
+        AtomicInteger read = new AtomicInteger();
+        Stream<String> rows = Stream.of("a1", "a2", "b1", "b2", "c1").peek(row -> read.incrementAndGet());
+
+        List<String> first = groupByFirstChar(rows).findFirst().orElseThrow();
+
+        assertThat(first).containsExactly("a1", "a2");
+        assertThat(read.get()).isEqualTo(3); // 다음 그룹의 첫 행까지만 읽는다.
+    }
+
+    @Test
+    public void closeSource() {
+        AtomicBoolean closed = new AtomicBoolean();
+        Stream<String> rows = Stream.<String>empty().onClose(() -> closed.set(true));
+
+        try (Stream<List<String>> groups = groupByFirstChar(rows)) {
+            assertThat(groups.count()).isZero();
+        }
+        assertThat(closed).isTrue();
+    }
+
+    private static Stream<List<String>> groupByFirstChar(Stream<String> rows) {
+        return StreamingGroupBy.groupBy(rows, row -> row.charAt(0), row -> new ArrayList<>(), List::add);
+    }
+}
@@ -0,0 +1,102 @@
+package study.kimquerydsl.search;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import jakarta.persistence.EntityManager;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import study.kimquerydsl.config.MemberFullTextProperties;
+import study.kimquerydsl.dto.MemberTeamDto;
+import study.kimquerydsl.entity.Member;
+import study.kimquerydsl.entity.Team;
+import study.kimquerydsl.event.CacheInvalidation;
+import study.kimquerydsl.event.CacheInvalidationBus;
+import study.kimquerydsl.repository.MemberRepository;
+
+@SpringBootTest
+@Transactional
+class MemberSearchIndexTest {
+
+    @Autowired
+    EntityManager em;
+    @Autowired
+    MemberSearchIndex memberSearchIndex;
+    @Autowired
+    MemberRepository memberRepository;
+    @Autowired
+    PlatformTransactionManager transactionManager;
+    @Autowired
+    CacheInvalidationBus invalidationBus;
+
+    @Test
+    public void searchFullText() {
+        Team falcons = new Team("falcons");
+        Team tigers = new Team("tigers");
+        em.persist(falcons);
+        em.persist(tigers);
+        Member alice = new Member("alice", 10, falcons);
+        Member alicia = new Member("alicia", 20, tigers);
+        Member bob = new Member("bob", 30, tigers);
+        em.persist(alice);
+        em.persist(alicia);
+        em.persist(bob);
+        em.flush();
+
+        // 커밋 후 이벤트 대신 직접 인덱싱 (테스트 트랜잭션 안에서 읽는다)
+        memberSearchIndex.index(List.of(alice.getId(), alicia.getId(), bob.getId()));
+
+        // 정확히 일치 > 접두어
+        List<MemberTeamDto> byName = memberRepository.searchFullText("alice", 10);
+        assertThat(byName).extracting("username").startsWith("alice");
+
+        // 오타 허용
+        assertThat(memberRepository.searchFullText("alcie", 10)).extracting("username").contains("alice");
+
+        // 팀명
+        assertThat(memberRepository.searchFullText("tigers", 10)).extracting("username")
+            .containsExactlyInAnyOrder("alicia", "bob");
+
+        // 타입 전체 무효화(캐시용)로는 재색인하지 않는다.
+        memberSearchIndex.accept(new CacheInvalidation("other-node", Member.class.getName(), null));
+        memberSearchIndex.drain();
+        assertThat(memberRepository.searchFullText("alice", 10)).extracting("username").contains("alice");
+    }
+
+    @Test
+    public void reopenSameDirectory(@TempDir Path dir) throws IOException {
+        Member alice = new Member("alice", 10);
+        em.persist(alice);
+        em.flush();
+
+        // 재시작해도 같은 디렉토리를 다시 쓴다.
+        MemberSearchIndex first = openIndex(dir, false);
+        first.index(List.of(alice.getId()));
+        first.close();
+
+        MemberSearchIndex reopened = openIndex(dir, false);
+        assertThat(reopened.search("alice", 10)).containsExactly(alice.getId());
+        reopened.close();
+
+        // 기동 시 재색인하면 이전 인덱스는 비우고 연다.
+        MemberSearchIndex rebuilt = openIndex(dir, true);
+        assertThat(rebuilt.search("alice", 10)).isEmpty();
+        rebuilt.close();
+    }
+
+    private MemberSearchIndex openIndex(Path dir, boolean rebuildOnStartup) throws IOException {
+        MemberFullTextProperties properties = new MemberFullTextProperties();
+        properties.setIndexDir(dir.toString());
+        properties.setRefreshIntervalMillis(3_600_000);
+        properties.setRebuildOnStartup(rebuildOnStartup);
+        MemberSearchIndex index = new MemberSearchIndex(em, transactionManager, invalidationBus, properties);
+        index.open();
+        return index;
+    }
+}
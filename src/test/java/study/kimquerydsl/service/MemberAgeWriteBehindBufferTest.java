@@ -0,0 +1,77 @@
+package study.kimquerydsl.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import jakarta.persistence.EntityManager;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.annotation.Transactional;
+import study.kimquerydsl.entity.Member;
+
+@SpringBootTest
+@Transactional
+class MemberAgeWriteBehindBufferTest {
+
+    @Autowired
+    EntityManager em;
+    @Autowired
+    MemberAgeWriteBehindBuffer buffer;
+
+    @Test
+    public void coalesceIncrements() throws Exception {
+        List<Member> members = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            Member member = new Member("member" + i, 10);
+            em.persist(member);
+            members.add(member);
+        }
+        em.flush();
+
+        // 8개 스레드 x 1000번 증가 -> 회원당 800
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        for (int t = 0; t < 8; t++) {
+            executor.execute(() -> {
+                for (int i = 0; i < 1000; i++) {
+                    buffer.increment(members.get(i % members.size()).getId());
+                }
+            });
+        }
+        executor.shutdown();
+        assertThat(executor.awaitTermination(10, TimeUnit.SECONDS)).isTrue();
+
+        assertThat(buffer.pending(members.get(0).getId())).isEqualTo(800);
+
+        // 회원 10명이 모두 같은 증감값(800) -> update 한 번
+        long updated = buffer.flush();
+        assertThat(updated).isEqualTo(10);
+        assertThat(buffer.pending(members.get(0).getId())).isZero();
+
+        List<Member> result = em.createQuery("select m from Member m where m.username like 'member%'", Member.class)
+            .getResultList();
+        assertThat(result).extracting("age").containsOnly(810);
+    }
+
+    @Test
+    public void dropOutOfRangeDelta() {
+        Member overflow = new Member("overflowMember", 10);
+        Member normal = new Member("normalMember", 10);
+        em.persist(overflow);
+        em.persist(normal);
+        em.flush();
+
+        buffer.add(overflow.getId(), Integer.MAX_VALUE + 1L);
+        buffer.increment(normal.getId());
+
+        // int 범위를 넘는 증감은 버리고 나머지만 반영한다. (다시 쌓여서 계속 실패하지 않는다)
+        assertThat(buffer.flush()).isEqualTo(1);
+        assertThat(buffer.pending(overflow.getId())).isZero();
+        assertThat(em.find(Member.class, overflow.getId()).getAge()).isEqualTo(10);
+        assertThat(em.find(Member.class, normal.getId()).getAge()).isEqualTo(11);
+    }
+}
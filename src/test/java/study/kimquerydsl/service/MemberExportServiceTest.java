@@ -0,0 +1,104 @@
+package study.kimquerydsl.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.zip.GZIPInputStream;
+import javax.sql.DataSource;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import study.kimquerydsl.config.MemberExportProperties;
+import study.kimquerydsl.dto.MemberExportManifest;
+import study.kimquerydsl.dto.MemberExportProgress;
+
+// 파티션마다 별도 커넥션으로 읽으므로 데이터를 실제로 커밋한다.
+@SpringBootTest
+class MemberExportServiceTest {
+
+    @Autowired
+    DataSource dataSource;
+    @Autowired
+    JdbcTemplate jdbcTemplate;
+    @Autowired
+    ObjectMapper objectMapper;
+
+    @TempDir
+    Path dir;
+
+    @AfterEach
+    public void after() {
+        jdbcTemplate.update("delete from member where username like 'export%'");
+    }
+
+    @Test
+    public void exportInPartitions() throws IOException {
+        for (int i = 0; i < 250; i++) {
+            jdbcTemplate.update("insert into member (member_id, username, age) values (?, ?, ?)",
+                1_000_000 + i, i % 50 == 0 ? "export,\"" + i + "\"" : "export" + i, i);
+        }
+
+        MemberExportProperties properties = new MemberExportProperties();
+        properties.setDir(dir.toString());
+        properties.setParallelism(3);
+        properties.setPartitions(7);
+        MemberExportService service = new MemberExportService(dataSource, objectMapper, properties);
+
+        MemberExportManifest manifest = service.export();
+
+        Long total = jdbcTemplate.queryForObject("select count(*) from member", Long.class);
+        assertThat(manifest.getTotalRows()).isEqualTo(total);
+        assertThat(manifest.getParts()).hasSizeLessThanOrEqualTo(7);
+
+        Path exportDir = Files.list(dir).findFirst().orElseThrow();
+        assertThat(exportDir.resolve("manifest.json")).exists();
+
+        long lines = 0;
+        for (MemberExportManifest.Part part : manifest.getParts()) {
+            try (BufferedReader reader = new BufferedReader(new InputStreamReader(
+                new GZIPInputStream(Files.newInputStream(exportDir.resolve(part.getFile()))), StandardCharsets.UTF_8))) {
+                assertThat(reader.readLine()).isEqualTo(MemberExportService.HEADER);
+                long partLines = reader.lines().count();
+                assertThat(partLines).isEqualTo(part.getRows());
+                lines += partLines;
+            }
+        }
+        assertThat(lines).isEqualTo(total);
+        assertThat(service.progress().getExportedRows()).isEqualTo(total);
+        assertThat(service.progress().isRunning()).isFalse();
+    }
+
+    @Test
+    public void startRunsInBackground() throws InterruptedException {
+        for (int i = 0; i < 30; i++) {
+            jdbcTemplate.update("insert into member (member_id, username, age) values (?, ?, ?)",
+                1_000_000 + i, "export" + i, i);
+        }
+
+        MemberExportProperties properties = new MemberExportProperties();
+        properties.setDir(dir.toString());
+        MemberExportService service = new MemberExportService(dataSource, objectMapper, properties);
+
+        service.start();
+        long deadline = System.currentTimeMillis() + 10_000;
+        while (service.progress().isRunning() && System.currentTimeMillis() < deadline) {
+            Thread.sleep(20);
+        }
+
+        MemberExportProgress progress = service.progress();
+        Long total = jdbcTemplate.queryForObject("select count(*) from member", Long.class);
+        assertThat(progress.isRunning()).isFalse();
+        assertThat(progress.getError()).isNull();
+        assertThat(progress.getManifest().getTotalRows()).isEqualTo(total);
+        service.shutdown();
+    }
+}
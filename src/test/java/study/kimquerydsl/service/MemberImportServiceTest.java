@@ -0,0 +1,95 @@
+package study.kimquerydsl.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+import static study.kimquerydsl.entity.QMember.member;
+import static study.kimquerydsl.entity.QTeam.team;
+
+import com.querydsl.jpa.impl.JPAQueryFactory;
+import jakarta.persistence.EntityManager;
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.annotation.Transactional;
+import study.kimquerydsl.dto.MemberImportResult;
+import study.kimquerydsl.entity.Member;
+import study.kimquerydsl.entity.Team;
+
+@SpringBootTest
+@Transactional
+class MemberImportServiceTest {
+
+    @Autowired
+    EntityManager em;
+    @Autowired
+    MemberImportService memberImportService;
+
+    @Test
+    public void importCsv() throws Exception {
+        Team teamA = new Team("teamA");
+        em.persist(teamA);
+        em.persist(new Member("member1", 10, teamA));
+        em.flush();
+        em.clear();
+
+        String csv = """
+            username,age,teamName
+            member1,11,teamB
+            member2,20,teamA
+            member3,abc,teamA
+            "member,4",40,
+            """;
+
+        MemberImportResult result = memberImportService.importCsv(
+            new ByteArrayInputStream(csv.getBytes(StandardCharsets.UTF_8)));
+
+        assertThat(result.getTotalRows()).isEqualTo(4);
+        assertThat(result.getInsertedRows()).isEqualTo(2);
+        assertThat(result.getUpdatedRows()).isEqualTo(1);
+        assertThat(result.getErrorRows()).isEqualTo(1);
+        assertThat(result.getErrors()).extracting("line").containsExactly(4L);
+
+        JPAQueryFactory queryFactory = new JPAQueryFactory(em);
+        List<String> usernames = queryFactory
+            .select(member.username)
+            .from(member)
+            .orderBy(member.username.asc())
+            .fetch();
+        assertThat(usernames).containsExactly("member,4", "member1", "member2");
+
+        String member1Team = queryFactory
+            .select(team.name)
+            .from(member)
+            .join(member.team, team)
+            .where(member.username.eq("member1"))
+            .fetchOne();
+        assertThat(member1Team).isEqualTo("teamB");
+    }
+
+    @Test
+    public void duplicateUsernameInBatch() throws Exception {
+        // 같은 배치의 같은 username 은 마지막 행만 반영되고 한 번만 센다.
+        String csv = """
+            username,age,teamName
+            dup1,10,importTeam
+            dup1,11,importTeam
+            """;
+
+        MemberImportResult result = memberImportService.importCsv(
+            new ByteArrayInputStream(csv.getBytes(StandardCharsets.UTF_8)));
+
+        assertThat(result.getInsertedRows()).isEqualTo(1);
+        assertThat(result.getUpdatedRows()).isEqualTo(0);
+        assertThat(result.getBatches()).extracting("inserted", "updated").containsExactly(tuple(1, 0));
+
+        Long teams = new JPAQueryFactory(em)
+            .select(team.count())
+            .from(team)
+            .where(team.name.eq("importTeam"))
+            .fetchOne();
+        assertThat(teams).isEqualTo(1);
+    }
+}
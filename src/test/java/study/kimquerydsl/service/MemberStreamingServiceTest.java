@@ -0,0 +1,89 @@
+package study.kimquerydsl.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManager;
+import java.io.ByteArrayOutputStream;
+import java.util.List;
+import java.util.stream.Stream;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.annotation.Transactional;
+import study.kimquerydsl.dto.MemberSearchCondition;
+import study.kimquerydsl.dto.MemberTeamRow;
+import study.kimquerydsl.entity.Member;
+import study.kimquerydsl.entity.Team;
+import study.kimquerydsl.repository.MemberJpaRepository;
+
+@SpringBootTest
+@Transactional
+class MemberStreamingServiceTest {
+
+    @Autowired
+    EntityManager em;
+    @Autowired
+    ObjectMapper objectMapper;
+    @Autowired
+    MemberJpaRepository memberJpaRepository;
+    @Autowired
+    MemberStreamingService memberStreamingService;
+
+    @BeforeEach
+    public void before() {
+        Team teamA = new Team("teamA");
+        Team teamB = new Team("teamB");
+        em.persist(teamA);
+        em.persist(teamB);
+        em.persist(new Member("member1", 10, teamA));
+        em.persist(new Member("member2", 20, teamA));
+        em.persist(new Member("member3", 30, teamB));
+        em.persist(new Member("member4", 40));
+        em.flush();
+        em.clear();
+    }
+
+    @Test
+    public void searchRows() {
+        MemberSearchCondition condition = new MemberSearchCondition();
+        condition.setAgeGoe(20);
+
+        List<MemberTeamRow> rows = search(condition);
+
+        assertThat(rows).extracting(MemberTeamRow::username).containsExactlyInAnyOrder("member2", "member3", "member4");
+        MemberTeamRow noTeam = rows.stream().filter(row -> row.username().equals("member4")).findFirst().orElseThrow();
+        assertThat(noTeam.teamId()).isNull();
+        assertThat(noTeam.teamName()).isNull();
+
+        condition.setTeamName("teamA");
+        condition.setAgeLoe(20);
+        assertThat(search(condition)).extracting(MemberTeamRow::username).containsExactly("member2");
+    }
+
+    @Test
+    public void streamJson() throws Exception {
+        MemberSearchCondition condition = new MemberSearchCondition();
+        condition.setTeamName("teamA");
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        memberStreamingService.search(condition, out);
+
+        JsonNode json = objectMapper.readTree(out.toByteArray());
+        assertThat(json.isArray()).isTrue();
+        assertThat(json).hasSize(2);
+        // MemberTeamDto 와 같은 필드
+        JsonNode first = json.get(0);
+        assertThat(first.has("memberId")).isTrue();
+        assertThat(first.get("teamName").asText()).isEqualTo("teamA");
+        assertThat(first.get("age").isInt()).isTrue();
+    }
+
+    private List<MemberTeamRow> search(MemberSearchCondition condition) {
+        try (Stream<MemberTeamRow> rows = memberJpaRepository.searchStream(condition)) {
+            return rows.toList();
+        }
+    }
+}
@@ -0,0 +1,94 @@
+package study.kimquerydsl.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.Test;
+
+class SingleFlightTest {
+
+    @Test
+    public void coalesceConcurrentCalls() throws Exception {
+        SingleFlight<String, Object> singleFlight = new SingleFlight<>();
+        AtomicInteger loads = new AtomicInteger();
+        CountDownLatch release = new CountDownLatch(1);
+        int callers = 8;
+
+        ExecutorService executor = Executors.newFixedThreadPool(callers);
+        try {
+            List<Future<Object>> futures = new ArrayList<>();
+            for (int i = 0; i < callers; i++) {
+                futures.add(executor.submit(() -> singleFlight.execute("key", () -> {
+                    loads.incrementAndGet();
+                    await(release);
+                    return new Object();
+                })));
+            }
+            // 나머지가 모두 리더의 실행을 기다릴 때까지
+            while (singleFlight.coalesced() < callers - 1) {
+                Thread.sleep(10);
+            }
+            release.countDown();
+
+            Object first = futures.get(0).get(5, TimeUnit.SECONDS);
+            for (Future<Object> future : futures) {
+                assertThat(future.get(5, TimeUnit.SECONDS)).isSameAs(first);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertThat(loads.get()).isEqualTo(1);
+        assertThat(singleFlight.executions()).isEqualTo(1);
+        assertThat(singleFlight.coalesced()).isEqualTo(callers - 1);
+        assertThat(singleFlight.inFlight()).isZero();
+
+        // 끝난 결과는 보관하지 않는다.
+        singleFlight.execute("key", Object::new);
+        assertThat(singleFlight.executions()).isEqualTo(2);
+    }
+
+    @Test
+    public void shareFailure() throws Exception {
+        SingleFlight<String, Object> singleFlight = new SingleFlight<>();
+        CountDownLatch release = new CountDownLatch(1);
+
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            Future<Object> leader = executor.submit(() -> singleFlight.execute("key", () -> {
+                await(release);
+                throw new IllegalStateException("boom");
+            }));
+            while (singleFlight.inFlight() == 0) {
+                Thread.sleep(10);
+            }
+            Future<Object> follower = executor.submit(() -> singleFlight.execute("key", Object::new));
+            while (singleFlight.coalesced() == 0) {
+                Thread.sleep(10);
+            }
+            release.countDown();
+
+            assertThatThrownBy(() -> leader.get(5, TimeUnit.SECONDS)).hasCauseInstanceOf(IllegalStateException.class);
+            assertThatThrownBy(() -> follower.get(5, TimeUnit.SECONDS)).hasCauseInstanceOf(IllegalStateException.class);
+        } finally {
+            executor.shutdownNow();
+        }
+        assertThat(singleFlight.inFlight()).isZero();
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
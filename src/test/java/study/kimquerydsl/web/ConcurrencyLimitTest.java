@@ -0,0 +1,87 @@
+package study.kimquerydsl.web;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import study.kimquerydsl.config.ConcurrencyLimitProperties;
+
+class ConcurrencyLimitTest {
+
+    private static final long FAST = TimeUnit.MILLISECONDS.toNanos(10);
+    private static final long SLOW = TimeUnit.MILLISECONDS.toNanos(200);
+
+    @Test
+    public void rejectOverLimit() {
+        AdaptiveConcurrencyLimit limit = new AdaptiveConcurrencyLimit(2, 1, 10, 1.5, 0.2);
+
+        assertThat(limit.tryAcquire()).isTrue();
+        assertThat(limit.tryAcquire()).isTrue();
+        assertThat(limit.tryAcquire()).isFalse();
+
+        limit.release(FAST, false);
+        assertThat(limit.tryAcquire()).isTrue();
+    }
+
+    @Test
+    public void shrinkWhenLatencyGrows() {
+        AdaptiveConcurrencyLimit limit = new AdaptiveConcurrencyLimit(50, 2, 200, 1.5, 0.2);
+        saturate(limit, FAST, 200);
+        int steady = limit.getLimit();
+        assertThat(steady).isGreaterThan(50); // 평소 응답 시간이면 사용량에 맞춰 늘어난다.
+
+        saturate(limit, SLOW, 20);
+        assertThat(limit.getLimit()).isLessThan(steady / 2);
+    }
+
+    @Test
+    public void backOffOnFailure() {
+        AdaptiveConcurrencyLimit limit = new AdaptiveConcurrencyLimit(100, 2, 200, 1.5, 1.0);
+        limit.tryAcquire();
+        limit.release(FAST, true);
+        assertThat(limit.getLimit()).isEqualTo(90);
+    }
+
+    @Test
+    public void lowPriorityShedFirst() throws Exception {
+        ConcurrencyLimitProperties properties = new ConcurrencyLimitProperties();
+        properties.setInitialLimit(5);
+        ConcurrencyLimitInterceptor interceptor = new ConcurrencyLimitInterceptor(properties);
+
+        // /v3 사용량 80%
+        for (int i = 0; i < 4; i++) {
+            assertThat(interceptor.preHandle(request("/v3/members"), new MockHttpServletResponse(), null)).isTrue();
+        }
+
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        assertThat(interceptor.preHandle(request("/v1/members"), response, null)).isFalse();
+        assertThat(response.getStatus()).isEqualTo(503);
+        assertThat(response.getHeader("Retry-After")).isEqualTo("1");
+
+        // /v3 는 한도까지 받는다.
+        MockHttpServletRequest last = request("/v3/members");
+        assertThat(interceptor.preHandle(last, new MockHttpServletResponse(), null)).isTrue();
+        assertThat(interceptor.preHandle(request("/v3/members"), new MockHttpServletResponse(), null)).isFalse();
+
+        interceptor.afterCompletion(last, new MockHttpServletResponse(), null, null);
+        assertThat(interceptor.snapshot().get("/v3/members").get("inFlight")).isEqualTo(4);
+    }
+
+    // 한도까지 채운 상태로 요청을 하나씩 끝낸다.
+    private void saturate(AdaptiveConcurrencyLimit limit, long rttNanos, int requests) {
+        for (int i = 0; i < requests; i++) {
+            while (limit.tryAcquire()) {
+            }
+            limit.release(rttNanos, false);
+        }
+        while (limit.getInFlight() > 0) {
+            limit.release(rttNanos, false);
+        }
+    }
+
+    private MockHttpServletRequest request(String uri) {
+        return new MockHttpServletRequest("GET", uri);
+    }
+}
@@ -0,0 +1,78 @@
+package study.kimquerydsl.web;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.ByteArrayInputStream;
+import java.io.DataInputStream;
+import java.lang.reflect.Type;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.mock.http.MockHttpOutputMessage;
+import study.kimquerydsl.dto.MemberTeamDto;
+
+class MemberTeamPageConverterTest {
+
+    ObjectMapper objectMapper = new ObjectMapper();
+    Type pageType = new ParameterizedTypeReference<Page<MemberTeamDto>>() {}.getType();
+
+    @Test
+    public void columnar() throws Exception {
+        MockHttpOutputMessage message = new MockHttpOutputMessage();
+        new MemberTeamPageColumnarConverter(objectMapper.getFactory())
+            .write(page(3), pageType, MemberTeamPageColumnarConverter.MEDIA_TYPE, message);
+
+        JsonNode root = objectMapper.readTree(message.getBodyAsBytes());
+        assertThat(root.get("page").get("totalElements").asLong()).isEqualTo(100);
+        assertThat(root.get("teamNames")).hasSize(2);
+        assertThat(root.get("columns").get("username").get(2).asText()).isEqualTo("member2");
+        assertThat(root.get("columns").get("teamName").get(2).asInt()).isEqualTo(0);
+    }
+
+    @Test
+    public void binary() throws Exception {
+        MockHttpOutputMessage message = new MockHttpOutputMessage();
+        new MemberTeamPageBinaryConverter()
+            .write(page(3), pageType, MemberTeamPageBinaryConverter.MEDIA_TYPE, message);
+
+        DataInputStream in = new DataInputStream(new ByteArrayInputStream(message.getBodyAsBytes()));
+        assertThat(in.readInt()).isEqualTo(MemberTeamPageBinaryConverter.MAGIC);
+        assertThat(in.readInt()).isEqualTo(0); // page number
+        assertThat(in.readInt()).isEqualTo(3); // page size
+        assertThat(in.readLong()).isEqualTo(100);
+        assertThat(in.readInt()).isEqualTo(3); // rows
+        assertThat(in.readByte()).isEqualTo((byte) 2); // dictionary (varint)
+    }
+
+    @Test
+    public void compactFormatsAreSmallerThanJson() throws Exception {
+        Page<MemberTeamDto> page = page(1000);
+        byte[] json = objectMapper.writeValueAsBytes(page.getContent());
+
+        MockHttpOutputMessage columnar = new MockHttpOutputMessage();
+        new MemberTeamPageColumnarConverter(objectMapper.getFactory())
+            .write(page, pageType, MemberTeamPageColumnarConverter.MEDIA_TYPE, columnar);
+        MockHttpOutputMessage binary = new MockHttpOutputMessage();
+        new MemberTeamPageBinaryConverter()
+            .write(page, pageType, MemberTeamPageBinaryConverter.MEDIA_TYPE, binary);
+
+        // 행 기반 JSON 대비 몇 배 이상 작아야 한다.
+        assertThat(columnar.getBodyAsBytes().length * 2).isLessThan(json.length);
+        assertThat(binary.getBodyAsBytes().length * 4).isLessThan(json.length);
+    }
+
+    private Page<MemberTeamDto> page(int size) {
+        List<MemberTeamDto> content = new ArrayList<>();
+        for (int i = 0; i < size; i++) {
+            long teamId = i % 2 == 0 ? 1L : 2L;
+            content.add(new MemberTeamDto((long) i, "member" + i, i, teamId, i % 2 == 0 ? "teamA" : "teamB"));
+        }
+        return new PageImpl<>(content, PageRequest.of(0, size), Math.max(100, size));
+    }
+}
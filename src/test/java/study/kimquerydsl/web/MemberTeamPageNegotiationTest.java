@@ -0,0 +1,88 @@
+package study.kimquerydsl.web;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManager;
+import java.io.ByteArrayInputStream;
+import java.io.DataInputStream;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.transaction.annotation.Transactional;
+import study.kimquerydsl.entity.Member;
+import study.kimquerydsl.entity.Team;
+
+// 컨버터 등록 순서까지 포함해서 Accept 헤더별 실제 응답 포맷 확인
+@SpringBootTest
+@AutoConfigureMockMvc
+@Transactional
+class MemberTeamPageNegotiationTest {
+
+    private static final String URL = "/v3/members?teamName=negoTeam&size=10";
+
+    @Autowired
+    MockMvc mockMvc;
+    @Autowired
+    EntityManager em;
+    @Autowired
+    ObjectMapper objectMapper;
+
+    @BeforeEach
+    public void before() {
+        Team team = new Team("negoTeam");
+        em.persist(team);
+        em.persist(new Member("member1", 10, team));
+        em.persist(new Member("member2", 20, team));
+        em.flush();
+        em.clear();
+    }
+
+    @Test
+    public void defaultJson() throws Exception {
+        MvcResult result = mockMvc.perform(get(URL).accept(MediaType.ALL))
+            .andExpect(status().isOk())
+            .andReturn();
+
+        assertThat(result.getResponse().getContentType()).startsWith(MediaType.APPLICATION_JSON_VALUE);
+        JsonNode root = objectMapper.readTree(result.getResponse().getContentAsByteArray());
+        assertThat(root.get("content")).hasSize(2);
+        assertThat(root.get("content").get(0).get("teamName").asText()).isEqualTo("negoTeam");
+    }
+
+    @Test
+    public void columnar() throws Exception {
+        MvcResult result = mockMvc.perform(get(URL).accept(MemberTeamPageColumnarConverter.MEDIA_TYPE))
+            .andExpect(status().isOk())
+            .andReturn();
+
+        assertThat(MediaType.parseMediaType(result.getResponse().getContentType())
+            .isCompatibleWith(MemberTeamPageColumnarConverter.MEDIA_TYPE)).isTrue();
+        JsonNode root = objectMapper.readTree(result.getResponse().getContentAsByteArray());
+        assertThat(root.has("content")).isFalse();
+        assertThat(root.get("teamNames")).hasSize(1);
+        assertThat(root.get("columns").get("username")).hasSize(2);
+    }
+
+    @Test
+    public void binary() throws Exception {
+        MvcResult result = mockMvc.perform(get(URL).accept(MemberTeamPageBinaryConverter.MEDIA_TYPE))
+            .andExpect(status().isOk())
+            .andReturn();
+
+        DataInputStream in = new DataInputStream(new ByteArrayInputStream(result.getResponse().getContentAsByteArray()));
+        assertThat(in.readInt()).isEqualTo(MemberTeamPageBinaryConverter.MAGIC);
+        assertThat(in.readInt()).isEqualTo(0); // page number
+        assertThat(in.readInt()).isEqualTo(10); // page size
+        assertThat(in.readLong()).isEqualTo(2);
+        assertThat(in.readInt()).isEqualTo(2); // rows
+    }
+}